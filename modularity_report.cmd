@@ -0,0 +1,12 @@
+@echo off
+rem Membuat ulang modularity_report.json dan dependencies_class.txt dari source saat ini.
+rem Jalankan setelah mengubah src\module-info.java atau menambah/menghapus kelas, lalu commit
+rem kedua file hasilnya bersama perubahan tersebut.
+rem
+rem Contoh: modularity_report.cmd   (butuh JDK 21 di PATH)
+setlocal
+cd /d "%~dp0"
+dir /s /b src\*.java > bin\sources.list
+javac -d bin -p lib @bin\sources.list || exit /b 1
+del bin\sources.list
+java -p bin;lib -m GSLC_Paper/Main.DependencyAnalyzer in=bin out=modularity_report.json modulePath=lib edges=dependencies_class.txt
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Membuat ulang modularity_report.json dan dependencies_class.txt dari source saat ini.
+# Jalankan setelah mengubah src/module-info.java atau menambah/menghapus kelas, lalu commit
+# kedua file hasilnya bersama perubahan tersebut.
+#
+# Contoh: ./modularity_report.sh   (butuh JDK 21 di PATH)
+set -e
+cd "$(dirname "$0")"
+find src -name '*.java' > bin/sources.list
+javac -d bin -p lib @bin/sources.list
+rm bin/sources.list
+java -p bin:lib -m GSLC_Paper/Main.DependencyAnalyzer in=bin out=modularity_report.json modulePath=lib edges=dependencies_class.txt
@@ -14,10 +14,19 @@ public class Car implements Cloneable {
     // Configurable expensive initialization size (bytes)
     public static volatile int HEAVY_DATA_SIZE = 1_000_000;
 
-    // Simulate expensive initialization (e.g. large immutable resource)
-    private final byte[] heavyData;
+    // Simulate expensive initialization (e.g. large immutable resource); shared with clones
+    private final HeavyPayload heavyData;
 
     public Car(String make, String model, String color, int year, List<String> features) {
+        this(make, model, color, year, features, CarMetrics.Op.CONSTRUCT);
+    }
+
+    // Both public constructors end up here; op tells the metrics which one was called
+    private Car(String make, String model, String color, int year, List<String> features, CarMetrics.Op op) {
+        boolean metrics = CarMetrics.isEnabled();
+        long a0 = metrics ? CarMetrics.allocatedBytes() : 0;
+        long t0 = metrics ? System.nanoTime() : 0;
+
         this.make = make;
         this.model = model;
         this.color = color;
@@ -26,11 +35,9 @@ public class Car implements Cloneable {
         this.features = new ArrayList<>(features);
 
         // Expensive initialization: allocate and fill a large array to simulate heavy setup
-        this.heavyData = new byte[HEAVY_DATA_SIZE];
-        for (int i = 0; i < heavyData.length; i++) {
-            // simple deterministic work to prevent JIT from optimizing away
-            heavyData[i] = (byte) (i % 127);
-        }
+        this.heavyData = new HeavyPayload(HEAVY_DATA_SIZE);
+
+        if (metrics) CarMetrics.record(op, String.valueOf(make), System.nanoTime() - t0, CarMetrics.allocatedBytes() - a0);
     }
 
     public static void setHeavyDataSize(int size) {
@@ -39,7 +46,7 @@ public class Car implements Cloneable {
 
     // Copy constructor (used for the non-prototype baseline)
     public Car(Car other) {
-        this(other.make, other.model, other.color, other.year, other.features);
+        this(other.make, other.model, other.color, other.year, other.features, CarMetrics.Op.COPY_CONSTRUCT);
     }
 
     @Override
@@ -56,6 +63,11 @@ public class Car implements Cloneable {
         }
     }
 
+    /** The heavy payload; regenerated first if memory pressure let the GC reclaim it. */
+    public byte[] getHeavyData() { return heavyData.data(); }
+
+    HeavyPayload payload() { return heavyData; }
+
     // Getters & setters
     public String getMake() { return make; }
     public String getModel() { return model; }
@@ -0,0 +1,112 @@
+package Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The difference between a variant and its parent prototype, registered with
+ * {@link CarRegist#addVariant(String, String, CarDelta)}.
+ *
+ * <p>Only overridden fields are stored; a field left unset inherits the parent's value. Deltas are
+ * immutable: every {@code with...} call returns a new delta, so one delta can be shared by many variants.
+ * <pre>
+ *   CarDelta blue2026 = CarDelta.none().withColor("Blue").withYear(2026).plusFeature("Tow hitch");
+ *   registry.addVariant("ev-blue-2026", "ev", blue2026);
+ * </pre>
+ */
+public final class CarDelta {
+
+    // Marks an inherited year; avoids boxing the one primitive field
+    private static final int INHERIT = Integer.MIN_VALUE;
+    private static final CarDelta NONE = new CarDelta(null, null, null, INHERIT, null, null);
+
+    private final String make;
+    private final String model;
+    private final String color;
+    private final int year;
+    private final String[] added;
+    private final String[] removed;
+
+    private CarDelta(String make, String model, String color, int year, String[] added, String[] removed) {
+        this.make = make;
+        this.model = model;
+        this.color = color;
+        this.year = year;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /** The empty delta: a variant identical to its parent. */
+    public static CarDelta none() {
+        return NONE;
+    }
+
+    public CarDelta withMake(String make) {
+        return new CarDelta(make, model, color, year, added, removed);
+    }
+
+    public CarDelta withModel(String model) {
+        return new CarDelta(make, model, color, year, added, removed);
+    }
+
+    public CarDelta withColor(String color) {
+        return new CarDelta(make, model, color, year, added, removed);
+    }
+
+    public CarDelta withYear(int year) {
+        return new CarDelta(make, model, color, year, added, removed);
+    }
+
+    /** Appends a feature to the parent's list (if the parent does not have it already). */
+    public CarDelta plusFeature(String feature) {
+        return new CarDelta(make, model, color, year, append(added, feature), removed);
+    }
+
+    /** Drops a feature from the parent's list. */
+    public CarDelta minusFeature(String feature) {
+        return new CarDelta(make, model, color, year, added, append(removed, feature));
+    }
+
+    /**
+     * Flattens this delta onto {@code parent}. The result is a clone of the parent, so it shares the
+     * parent's heavy payload and costs only the changed fields and one feature list.
+     */
+    Car applyTo(Car parent) {
+        Car c = parent.clone();
+        if (make != null) c.setMake(make);
+        if (model != null) c.setModel(model);
+        if (color != null) c.setColor(color);
+        if (year != INHERIT) c.setYear(year);
+        if (added != null || removed != null) {
+            // clone() already copied the list, so it can be edited in place
+            List<String> features = c.getFeatures();
+            if (removed != null) features.removeAll(Arrays.asList(removed));
+            if (added != null) {
+                for (String f : added) if (!features.contains(f)) features.add(f);
+            }
+            if (features instanceof ArrayList) ((ArrayList<String>) features).trimToSize();
+        }
+        return c;
+    }
+
+    private static String[] append(String[] a, String s) {
+        if (a == null) return new String[] { s };
+        String[] b = Arrays.copyOf(a, a.length + 1);
+        b[a.length] = s;
+        return b;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CarDelta{");
+        if (make != null) sb.append("make='").append(make).append("', ");
+        if (model != null) sb.append("model='").append(model).append("', ");
+        if (color != null) sb.append("color='").append(color).append("', ");
+        if (year != INHERIT) sb.append("year=").append(year).append(", ");
+        if (added != null) sb.append("+").append(Arrays.toString(added)).append(", ");
+        if (removed != null) sb.append("-").append(Arrays.toString(removed)).append(", ");
+        if (sb.charAt(sb.length() - 1) == ' ') sb.setLength(sb.length() - 2);
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,237 @@
+package Main;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Built-in metrics for {@link CarRegist} and {@link Car}: per-key operation counts, log2 latency
+ * histograms and allocated bytes, plus a {@link SlowOperation} JFR event for operations slower than
+ * {@link #slowThresholdNanos()}.
+ *
+ * <p>Disabled by default. Enable with {@code -Dcar.metrics=true} or {@link #setEnabled(boolean)} at any
+ * time; when disabled an instrumented call costs one volatile read. When enabled the cost is dominated
+ * by two {@link System#nanoTime()} and two allocated-bytes reads; {@code -Dcar.metrics.allocation=false}
+ * drops the latter. All counters are {@link LongAdder}s, so concurrent clones of the same key do not
+ * contend on one cache line.
+ */
+public class CarMetrics {
+
+    public enum Op {
+        GET_CLONE("getClone"),
+        ADD_PROTOTYPE("addPrototype"),
+        CONSTRUCT("new Car"),
+        COPY_CONSTRUCT("new Car(Car)");
+
+        private final String label;
+
+        Op(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /** Key under which failures for keys without counters of their own are recorded. */
+    public static final String UNKNOWN_KEY = "<unknown>";
+
+    // Bucket i holds latencies in [2^(i-1), 2^i) ns; bucket 0 holds 0 ns
+    private static final int BUCKETS = 64;
+
+    private static volatile boolean enabled = Boolean.getBoolean("car.metrics");
+    private static volatile boolean trackAllocation = !"false".equals(System.getProperty("car.metrics.allocation"));
+    private static volatile long slowNanos = Long.getLong("car.metrics.slowMicros", 1_000L) * 1_000L;
+
+    // One map per operation so a lookup needs no composite key (no allocation on the hot path)
+    private static final Map<Op, Map<String, Stats>> STATS = new EnumMap<>(Op.class);
+
+    static {
+        for (Op op : Op.values()) STATS.put(op, new ConcurrentHashMap<>());
+    }
+
+    /** Counters of one operation on one key. */
+    public static class Stats {
+        public final Op op;
+        public final String key;
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        Stats(Op op, String key) {
+            this.op = op;
+            this.key = key;
+            for (int i = 0; i < BUCKETS; i++) histogram[i] = new LongAdder();
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        public double meanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (double) n;
+        }
+
+        /** Upper bound of the histogram bucket containing the {@code p}-quantile (0..1). */
+        public long percentileNanos(double p) {
+            long[] h = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += h[i] = histogram[i].sum();
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += h[i];
+                if (seen >= Math.max(1, rank)) return i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : 1L << i);
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            long n = count();
+            return String.format("%-14s %-16s count=%d failures=%d mean=%.0f ns p50<=%d ns p99<=%d ns alloc=%.0f B/op",
+                    op.label(), key, n, failures(), meanNanos(), percentileNanos(0.5), percentileNanos(0.99),
+                    n == 0 ? 0.0 : allocatedBytes() / (double) n);
+        }
+    }
+
+    /** Emitted for every instrumented operation that takes at least the slow threshold. */
+    @Name("Main.SlowCarOperation")
+    @Label("Slow Car Operation")
+    @Category({ "GSLC_Paper", "Prototype" })
+    @Description("CarRegist or Car operation slower than car.metrics.slowMicros")
+    public static class SlowOperation extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Key")
+        String key;
+
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+
+        @Label("Allocated")
+        @DataAmount(DataAmount.BYTES)
+        long allocated;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static void setTrackAllocation(boolean on) {
+        trackAllocation = on;
+    }
+
+    public static long slowThresholdNanos() {
+        return slowNanos;
+    }
+
+    public static void setSlowThresholdNanos(long nanos) {
+        slowNanos = Math.max(0, nanos);
+    }
+
+    /** Bytes allocated so far by the current thread, or 0 when not tracked or the JVM cannot tell. */
+    static long allocatedBytes() {
+        if (!trackAllocation) return 0;
+        com.sun.management.ThreadMXBean t = Allocation.THREADS;
+        return t == null ? 0 : t.getCurrentThreadAllocatedBytes();
+    }
+
+    // Holder: java.lang.management is only initialized once metrics are actually recorded
+    private static class Allocation {
+        static final com.sun.management.ThreadMXBean THREADS = hotspotThreads();
+    }
+
+    /** Records one finished operation; callers check {@link #isEnabled()} before timing it. */
+    static void record(Op op, String key, long nanos, long allocated) {
+        Stats s = stats(op, key);
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        s.allocatedBytes.add(allocated);
+        s.histogram[nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        if (nanos >= slowNanos) {
+            SlowOperation e = new SlowOperation();
+            if (e.isEnabled()) {
+                e.operation = op.label();
+                e.key = key;
+                e.latency = nanos;
+                e.allocated = allocated;
+                e.commit();
+            }
+        }
+    }
+
+    static void recordFailure(Op op, String key) {
+        // Failed keys are client input (e.g. random keys sent to CloneService); only keys that already
+        // have counters get their own entry, so failures cannot grow the map without bound
+        Stats s = STATS.get(op).get(key);
+        (s != null ? s : stats(op, UNKNOWN_KEY)).failures.increment();
+    }
+
+    private static Stats stats(Op op, String key) {
+        Map<String, Stats> m = STATS.get(op);
+        Stats s = m.get(key);
+        return s != null ? s : m.computeIfAbsent(key, k -> new Stats(op, k));
+    }
+
+    /** Current counters, sorted by operation and key. */
+    public static List<Stats> snapshot() {
+        List<Stats> list = new ArrayList<>();
+        for (Map<String, Stats> m : STATS.values()) {
+            List<Stats> keys = new ArrayList<>(m.values());
+            keys.sort((a, b) -> a.key.compareTo(b.key));
+            list.addAll(keys);
+        }
+        return list;
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Stats s : snapshot()) sb.append(s).append('\n');
+        return sb.toString();
+    }
+
+    public static void reset() {
+        for (Map<String, Stats> m : STATS.values()) m.clear();
+    }
+
+    private static com.sun.management.ThreadMXBean hotspotThreads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hs = (com.sun.management.ThreadMXBean) bean;
+            if (hs.isThreadAllocatedMemorySupported() && hs.isThreadAllocatedMemoryEnabled()) return hs;
+        }
+        return null;
+    }
+}
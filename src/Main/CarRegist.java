@@ -1,20 +1,215 @@
 package Main;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Registry of prototypes, looked up by key and handed out as clones.
+ *
+ * <p>Besides full prototypes, a key can name a variant: a parent key plus a {@link CarDelta}. Parents may
+ * themselves be variants. A variant is flattened into a plain prototype on its first clone and cached in
+ * the same map as the flat prototypes, so later clones cost exactly as much as cloning a flat prototype.
+ * Re-registering a key drops the cached flattening of every variant below it.
+ *
+ * <p>Flattening saves nothing once a variant is in use: a flattened variant costs a full prototype plus
+ * its delta, and an unused variant costs about as much as a flat prototype made by cloning. What
+ * variants avoid is constructing every variation (and its heavy payload) with {@code new Car}, and
+ * keeping parents and their variants consistent when a parent changes.
+ *
+ * <p>Registration, flattening and invalidation hold one {@link ReentrantLock} (not a monitor, so a
+ * virtual thread waiting for a first clone does not pin its carrier); later clones take no lock.
+ */
 public class CarRegist {
-    private final Map<String, Car> prototypes = new HashMap<>();
+    // Flat prototypes and flattened variants; clones only ever read this map
+    private final Map<String, Car> prototypes = new ConcurrentHashMap<>();
+    private final Map<String, Variant> variants = new HashMap<>();
+    // Parent key -> variants registered directly below it; only read when a key is re-registered
+    private final Map<String, List<String>> children = new HashMap<>();
+    // Payloads tracked for adaptive retention; null while it is off
+    private volatile PayloadRetention retention;
+    // Guards variants, children and every write to prototypes
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * When enabled, the heavy payloads of prototypes that sit idle while the heap is under pressure are
+     * downgraded to soft references and regenerated on their next clone (see {@link PayloadRetention}).
+     * Turning it off again stops tracking and sweeping this registry's prototypes (and restores the heap
+     * pool thresholds once no registry uses retention); payloads that were already downgraded come back
+     * on their next use.
+     */
+    public void setAdaptiveRetention(boolean on) {
+        lock.lock();
+        try {
+            if (on && retention == null) {
+                PayloadRetention r = PayloadRetention.create();
+                // Flattened variants share their parent's payload, so only flat prototypes are tracked
+                for (Map.Entry<String, Car> e : prototypes.entrySet()) {
+                    if (!variants.containsKey(e.getKey())) r.track(e.getValue().payload());
+                }
+                retention = r;
+            } else if (!on && retention != null) {
+                retention.release();
+                retention = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Variant {
+        final String parent;
+        final CarDelta delta;
+
+        Variant(String parent, CarDelta delta) {
+            this.parent = parent;
+            this.delta = delta;
+        }
+    }
 
     public void addPrototype(String key, Car car) {
-        prototypes.put(key, car);
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(car, "car");
+        PayloadRetention r = retention;
+        if (r != null) {
+            PayloadRetention.poll();
+            r.track(car.payload());
+        }
+        boolean metrics = CarMetrics.isEnabled();
+        long a0 = metrics ? CarMetrics.allocatedBytes() : 0;
+        long t0 = metrics ? System.nanoTime() : 0;
+        lock.lock();
+        try {
+            // A flat prototype replaces a variant of the same key; cached variants below it are stale now.
+            // The put stays under the lock so that no flatten can rebuild them from the old parent in between.
+            unlink(key);
+            invalidateBelow(key);
+            prototypes.put(key, car);
+        } finally {
+            lock.unlock();
+        }
+        if (metrics) {
+            CarMetrics.record(CarMetrics.Op.ADD_PROTOTYPE, String.valueOf(key), System.nanoTime() - t0, CarMetrics.allocatedBytes() - a0);
+        }
     }
 
     public Car getClone(String key) {
-        Car proto = prototypes.get(key);
-        if (proto == null) {
-            throw new IllegalArgumentException("No prototype registered for key: " + key);
+        if (!CarMetrics.isEnabled()) return cloneOf(key);
+
+        long a0 = CarMetrics.allocatedBytes();
+        long t0 = System.nanoTime();
+        Car copy;
+        try {
+            copy = cloneOf(key);
+        } catch (IllegalArgumentException e) {
+            CarMetrics.recordFailure(CarMetrics.Op.GET_CLONE, String.valueOf(key));
+            throw e;
         }
+        CarMetrics.record(CarMetrics.Op.GET_CLONE, String.valueOf(key), System.nanoTime() - t0, CarMetrics.allocatedBytes() - a0);
+        return copy;
+    }
+
+    /**
+     * Registers {@code key} as {@code parent} changed by {@code delta}. The parent must already be
+     * registered, as a prototype or as another variant. Nothing is copied until the first clone.
+     */
+    public void addVariant(String key, String parent, CarDelta delta) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(delta, "delta");
+        lock.lock();
+        try {
+            if (!isRegistered(parent)) {
+                throw new IllegalArgumentException("No prototype registered for parent key: " + parent);
+            }
+            for (String p = parent; p != null; p = parentOf(p)) {
+                if (p.equals(key)) throw new IllegalArgumentException("Variant " + key + " would be its own ancestor via " + parent);
+            }
+            unlink(key);
+            invalidateBelow(key);
+            prototypes.remove(key);
+            variants.put(key, new Variant(parent, delta));
+            children.computeIfAbsent(parent, k -> new ArrayList<>()).add(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Whether {@code key} names a prototype or a variant. */
+    public boolean isRegistered(String key) {
+        if (key == null) return false;
+        lock.lock();
+        try {
+            return variants.containsKey(key) || prototypes.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Car cloneOf(String key) {
+        Car proto = key == null ? null : prototypes.get(key);
+        if (proto == null) proto = flatten(key);
+        // Marks the prototype as in use and takes its payload back if it was downgraded
+        if (retention != null) proto.payload().touch();
         return proto.clone();
     }
-}
\ No newline at end of file
+
+    // Slow path of cloneOf: flattens a variant (and any unflattened ancestors) into a cached prototype
+    private Car flatten(String key) {
+        if (key == null) throw new IllegalArgumentException("No prototype registered for key: null");
+        lock.lock();
+        try {
+            Car proto = prototypes.get(key);
+            if (proto != null) return proto;
+            if (!variants.containsKey(key)) {
+                throw new IllegalArgumentException("No prototype registered for key: " + key);
+            }
+            // Iterative so that deep hierarchies cannot overflow the stack
+            List<String> chain = new ArrayList<>();
+            String k = key;
+            Car base;
+            while ((base = prototypes.get(k)) == null) {
+                chain.add(k);
+                k = variants.get(k).parent;
+            }
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                String v = chain.get(i);
+                base = variants.get(v).delta.applyTo(base);
+                prototypes.put(v, base);
+            }
+            return base;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String parentOf(String key) {
+        Variant v = variants.get(key);
+        return v == null ? null : v.parent;
+    }
+
+    // Forgets that key is a variant; its own children stay attached to it
+    private void unlink(String key) {
+        Variant old = variants.remove(key);
+        if (old == null) return;
+        List<String> siblings = children.get(old.parent);
+        if (siblings != null && siblings.remove(key) && siblings.isEmpty()) children.remove(old.parent);
+    }
+
+    // Drops the cached flattening of every variant below key; they are rebuilt on their next clone
+    private void invalidateBelow(String key) {
+        List<String> stack = new ArrayList<>();
+        stack.add(key);
+        while (!stack.isEmpty()) {
+            List<String> kids = children.get(stack.remove(stack.size() - 1));
+            if (kids == null) continue;
+            for (String k : kids) {
+                prototypes.remove(k);
+                stack.add(k);
+            }
+        }
+    }
+}
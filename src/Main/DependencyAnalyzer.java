@@ -0,0 +1,732 @@
+package Main;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.module.FindException;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Class-file dependency analyzer that replaces the hand-run {@code jdeps} reports.
+ *
+ * <p>Every {@code .class} under an output directory (e.g. {@code bin/}) or inside a jar is parsed
+ * directly: the constant pool's class entries, the descriptors of fields, methods, name-and-type and
+ * method-type entries, and the {@code Module} attribute of {@code module-info.class}. Jars are
+ * memory-mapped once and their entries inflated straight from the mapping; loose class files are read
+ * through a reusable per-thread buffer (large ones are mapped). Directories and jar entries are parsed
+ * in parallel on a fork/join pool, so a whole build output is analyzed in well under a second.
+ *
+ * <p>From the class edges it derives afferent coupling (Ca: other units that depend on this one),
+ * efferent coupling (Ce: units this one depends on) and instability {@code Ce / (Ca + Ce)} for every
+ * package and module, and writes them to {@code modularity_report.json}.
+ *
+ * <p>Usage (key=value): {@code in=bin[,lib/x.jar] out=modularity_report.json modulePath=lib
+ * edges=none threads=<cpu>}; {@code edges} names an optional class-level edge list.
+ *
+ * <p>{@code modularity_report.sh} (or {@code .cmd}) at the repository root rebuilds {@code bin/} and
+ * regenerates the committed {@code modularity_report.json} and {@code dependencies_class.txt}; run it
+ * whenever {@code module-info.java} or the set of classes changes.
+ */
+public class DependencyAnalyzer {
+
+    // Loose class files at least this large are memory-mapped instead of read through the buffer
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+    // Jar entries are handed out to fork/join tasks in slices of this many
+    private static final int JAR_SLICE = 256;
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(64 * 1024));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    /** Dependencies of one class, as dotted binary names. */
+    public static class ClassInfo {
+        public final int unit;
+        public final String name;
+        public final Set<String> dependencies;
+
+        ClassInfo(int unit, String name, Set<String> dependencies) {
+            this.unit = unit;
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /** Afferent/efferent coupling of one package or module. */
+    public static class Coupling {
+        public final String level;
+        public final String name;
+        public final boolean analyzed;
+        public final Set<String> afferent = new TreeSet<>();
+        public final Set<String> efferent = new TreeSet<>();
+        public int classes;
+
+        Coupling(String level, String name, boolean analyzed) {
+            this.level = level;
+            this.name = name;
+            this.analyzed = analyzed;
+        }
+
+        public double instability() {
+            int total = afferent.size() + efferent.size();
+            return total == 0 ? 0 : efferent.size() / (double) total;
+        }
+    }
+
+    /** Result of one analysis: the classes found plus package and module coupling. */
+    public static class Report {
+        public final List<ClassInfo> classes;
+        public final Map<String, Coupling> packages;
+        public final Map<String, Coupling> modules;
+        /** {@code requires} of every analyzed module that has a {@code module-info.class}. */
+        public final Map<String, Set<String>> declaredRequires;
+        public final long bytes;
+        public final long nanos;
+
+        Report(List<ClassInfo> classes, Map<String, Coupling> packages, Map<String, Coupling> modules,
+               Map<String, Set<String>> declaredRequires, long bytes, long nanos) {
+            this.classes = classes;
+            this.packages = packages;
+            this.modules = modules;
+            this.declaredRequires = declaredRequires;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d classes, %.1f MB, %d packages, %d modules in %.1f ms (%.0f classes/s)",
+                    classes.size(), bytes / (1024.0 * 1024.0), packages.size(), modules.size(), nanos / 1e6,
+                    classes.size() / (nanos / 1e9));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> inputs = List.of(Path.of("bin"));
+        Path out = Path.of("modularity_report.json");
+        List<Path> modulePath = List.of(Path.of("lib"));
+        Path edges = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "in": inputs = paths(v); break;
+                case "out": out = Path.of(v); break;
+                case "modulePath": modulePath = paths(v); break;
+                case "edges": edges = v.equals("none") ? null : Path.of(v); break;
+                case "threads": threads = Integer.parseInt(v); break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
+
+        Report r = analyze(inputs, modulePath, threads);
+        System.out.println("Analyzed " + inputs + ": " + r);
+        // requires yang dideklarasikan tetapi tidak pernah dirujuk oleh class mana pun
+        for (Map.Entry<String, Set<String>> e : r.declaredRequires.entrySet()) {
+            Coupling m = r.modules.get(e.getKey());
+            for (String req : e.getValue()) {
+                if (!req.equals("java.base") && (m == null || !m.efferent.contains(req))) {
+                    System.out.println("Note: " + e.getKey() + " requires " + req + " but no class refers to it");
+                }
+            }
+        }
+
+        writeJson(out, r);
+        System.out.println("Report saved to " + out);
+        if (edges != null) {
+            writeEdges(edges, r);
+            System.out.println("Class edges saved to " + edges);
+        }
+    }
+
+    /**
+     * Parses every class in {@code inputs} (directories or jars) and computes package and module
+     * coupling. {@code modulePath} only serves to name the modules of external packages; the JDK's
+     * own modules are always known.
+     */
+    public static Report analyze(List<Path> inputs, List<Path> modulePath, int parallelism) throws IOException {
+        long t0 = System.nanoTime();
+        Queue<ClassInfo> classes = new ConcurrentLinkedQueue<>();
+        Queue<IOException> errors = new ConcurrentLinkedQueue<>();
+        List<Sink> sinks = new ArrayList<>();
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            for (int u = 0; u < inputs.size(); u++) {
+                Path in = inputs.get(u);
+                Sink sink = new Sink(u, classes, errors);
+                sinks.add(sink);
+                if (Files.isDirectory(in)) {
+                    pool.invoke(new DirTask(in, sink));
+                } else {
+                    scanJar(in, sink, pool);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        for (IOException e : errors) System.err.println("Dependencies: skipped " + e.getMessage());
+
+        // Nama unit: dari module-info, lalu nama automatic module (jar), lalu nama direktori
+        List<String> unitModules = new ArrayList<>();
+        Map<String, Set<String>> declared = new TreeMap<>();
+        long bytes = 0;
+        for (int u = 0; u < inputs.size(); u++) {
+            Sink s = sinks.get(u);
+            bytes += s.bytes.get();
+            String name = s.moduleName != null ? s.moduleName : automaticName(inputs.get(u));
+            unitModules.add(name);
+            if (s.moduleName != null) declared.put(name, s.requires);
+        }
+
+        List<ClassInfo> list = new ArrayList<>(classes);
+        Map<String, Coupling> packages = new TreeMap<>();
+        Map<String, Coupling> modules = new TreeMap<>();
+        couple(list, unitModules, modulePath, packages, modules);
+        return new Report(list, packages, modules, declared, bytes, System.nanoTime() - t0);
+    }
+
+    // Ca/Ce dihitung sebagai jumlah package (atau module) berbeda, bukan jumlah class
+    private static void couple(List<ClassInfo> classes, List<String> unitModules, List<Path> modulePath,
+                               Map<String, Coupling> packages, Map<String, Coupling> modules) {
+        Map<String, String> owner = new HashMap<>();
+        for (ClassInfo c : classes) owner.put(packageOf(c.name), unitModules.get(c.unit));
+        Map<String, String> external = externalPackages(modulePath);
+
+        for (ClassInfo c : classes) {
+            String pkg = packageOf(c.name);
+            String mod = unitModules.get(c.unit);
+            Coupling p = packages.computeIfAbsent(pkg, k -> new Coupling("package", k, true));
+            Coupling m = modules.computeIfAbsent(mod, k -> new Coupling("module", k, true));
+            p.classes++;
+            m.classes++;
+            for (String dep : c.dependencies) {
+                String depPkg = packageOf(dep);
+                String depMod = owner.get(depPkg);
+                boolean analyzed = depMod != null;
+                if (!analyzed) depMod = external.getOrDefault(depPkg, "unnamed");
+                if (!depPkg.equals(pkg)) {
+                    p.efferent.add(depPkg);
+                    packages.computeIfAbsent(depPkg, k -> new Coupling("package", k, analyzed)).afferent.add(pkg);
+                }
+                if (!depMod.equals(mod)) {
+                    m.efferent.add(depMod);
+                    modules.computeIfAbsent(depMod, k -> new Coupling("module", k, analyzed)).afferent.add(mod);
+                }
+            }
+        }
+    }
+
+    // Package -> module untuk modul JDK dan jar di modulePath
+    private static Map<String, String> externalPackages(List<Path> modulePath) {
+        Map<String, String> map = new HashMap<>();
+        List<ModuleFinder> finders = new ArrayList<>();
+        finders.add(ModuleFinder.ofSystem());
+        for (Path p : modulePath) {
+            if (Files.exists(p)) finders.add(ModuleFinder.of(p));
+        }
+        for (ModuleFinder f : finders) {
+            try {
+                for (ModuleReference ref : f.findAll()) {
+                    for (String pkg : ref.descriptor().packages()) map.putIfAbsent(pkg, ref.descriptor().name());
+                }
+            } catch (FindException e) {
+                System.err.println("Dependencies: module path entry ignored: " + e.getMessage());
+            }
+        }
+        return map;
+    }
+
+    private static String automaticName(Path input) {
+        if (!Files.isDirectory(input)) {
+            try {
+                for (ModuleReference ref : ModuleFinder.of(input).findAll()) return ref.descriptor().name();
+            } catch (FindException e) {
+                // bukan jar modul yang valid; pakai nama file
+            }
+        }
+        Path name = input.toAbsolutePath().normalize().getFileName();
+        return name == null ? "unnamed" : name.toString();
+    }
+
+    static String packageOf(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot < 0 ? "" : className.substring(0, dot);
+    }
+
+    // ---------------------------------------------------------------- input scanning
+
+    /** Collects parsed classes of one input; module-info details are kept separately. */
+    private static class Sink {
+        final int unit;
+        final Queue<ClassInfo> classes;
+        final Queue<IOException> errors;
+        final AtomicLong bytes = new AtomicLong();
+        volatile String moduleName;
+        volatile Set<String> requires;
+
+        Sink(int unit, Queue<ClassInfo> classes, Queue<IOException> errors) {
+            this.unit = unit;
+            this.classes = classes;
+            this.errors = errors;
+        }
+
+        void accept(String where, ByteBuffer classFile) {
+            bytes.addAndGet(classFile.remaining());
+            try {
+                ClassFile cf = new ClassFile(classFile);
+                if (cf.moduleName != null) {
+                    requires = cf.requires;
+                    moduleName = cf.moduleName;
+                } else if (cf.thisClass != null) {
+                    classes.add(new ClassInfo(unit, cf.thisClass, cf.dependencies));
+                }
+            } catch (RuntimeException e) {
+                errors.add(new IOException(where + ": malformed class file (" + e + ")"));
+            }
+        }
+    }
+
+    // Fork/join tasks are never serialized; RecursiveAction is Serializable only by inheritance
+    @SuppressWarnings("serial")
+    private static class DirTask extends RecursiveAction {
+        private final Path dir;
+        private final Sink sink;
+
+        DirTask(Path dir, Sink sink) {
+            this.dir = dir;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirTask> subdirs = new ArrayList<>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (a.isDirectory()) {
+                        DirTask t = new DirTask(p, sink);
+                        t.fork();
+                        subdirs.add(t);
+                    } else if (a.isRegularFile() && p.getFileName().toString().endsWith(".class")) {
+                        try {
+                            sink.accept(p.toString(), read(p, a.size()));
+                        } catch (IOException e) {
+                            sink.errors.add(e);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                sink.errors.add(e);
+            }
+            for (DirTask t : subdirs) t.join();
+        }
+    }
+
+    // Isi satu class file; buffer per-thread dipakai ulang, file besar di-map
+    private static ByteBuffer read(Path file, long size) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (size >= MAP_THRESHOLD) return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer buf = BUFFER.get();
+            if (buf.capacity() < size) {
+                buf = ByteBuffer.allocate((int) size);
+                BUFFER.set(buf);
+            }
+            buf.clear();
+            while (buf.position() < size && ch.read(buf) >= 0) {
+                // baca sampai penuh
+            }
+            return buf.flip();
+        }
+    }
+
+    /**
+     * Maps the jar once, walks its central directory and parses the entries in parallel: stored
+     * entries are sliced from the mapping, deflated ones inflated from it. ZIP64 archives fall back
+     * to {@link ZipFile}.
+     */
+    private static void scanJar(Path jar, Sink sink, ForkJoinPool pool) throws IOException {
+        long size = Files.size(jar);
+        MappedByteBuffer map = null;
+        List<int[]> entries = null;
+        if (size < Integer.MAX_VALUE) {
+            try (FileChannel ch = FileChannel.open(jar, StandardOpenOption.READ)) {
+                map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            entries = centralDirectory(map);
+        }
+        if (entries == null) {
+            scanJarFallback(jar, sink);
+            return;
+        }
+        pool.invoke(new JarTask(jar, map, entries, 0, entries.size(), sink));
+    }
+
+    // { localHeaderOffset, method, compressedSize, uncompressedSize } per .class entry; null bila ZIP64/rusak
+    private static List<int[]> centralDirectory(ByteBuffer zip) {
+        int eocd = -1;
+        for (int i = zip.limit() - 22; i >= Math.max(0, zip.limit() - 22 - 65_535); i--) {
+            if (zip.getInt(i) == 0x06054b50) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) return null;
+        int count = Short.toUnsignedInt(zip.getShort(eocd + 10));
+        long cdOffset = Integer.toUnsignedLong(zip.getInt(eocd + 16));
+        if (count == 0xFFFF || cdOffset == 0xFFFFFFFFL) return null;
+
+        List<int[]> entries = new ArrayList<>(count);
+        int pos = (int) cdOffset;
+        for (int i = 0; i < count; i++) {
+            if (zip.getInt(pos) != 0x02014b50) return null;
+            int method = Short.toUnsignedInt(zip.getShort(pos + 10));
+            long comp = Integer.toUnsignedLong(zip.getInt(pos + 20));
+            long raw = Integer.toUnsignedLong(zip.getInt(pos + 24));
+            int nameLen = Short.toUnsignedInt(zip.getShort(pos + 28));
+            int extraLen = Short.toUnsignedInt(zip.getShort(pos + 30));
+            int commentLen = Short.toUnsignedInt(zip.getShort(pos + 32));
+            long local = Integer.toUnsignedLong(zip.getInt(pos + 42));
+            if (comp == 0xFFFFFFFFL || raw == 0xFFFFFFFFL || local == 0xFFFFFFFFL) return null;
+            if (isClassEntry(zip, pos + 46, nameLen)) {
+                entries.add(new int[] { (int) local, method, (int) comp, (int) raw });
+            }
+            pos += 46 + nameLen + extraLen + commentLen;
+        }
+        return entries;
+    }
+
+    // .class, tanpa META-INF/ (termasuk versi multi-release)
+    private static boolean isClassEntry(ByteBuffer zip, int nameOffset, int nameLen) {
+        if (nameLen < 7) return false;
+        int end = nameOffset + nameLen;
+        if (zip.get(end - 6) != '.' || zip.get(end - 5) != 'c' || zip.get(end - 4) != 'l' || zip.get(end - 3) != 'a'
+                || zip.get(end - 2) != 's' || zip.get(end - 1) != 's') {
+            return false;
+        }
+        byte[] meta = "META-INF/".getBytes(StandardCharsets.US_ASCII);
+        if (nameLen < meta.length) return true;
+        for (int i = 0; i < meta.length; i++) if (zip.get(nameOffset + i) != meta[i]) return true;
+        return false;
+    }
+
+    @SuppressWarnings("serial")
+    private static class JarTask extends RecursiveAction {
+        private final Path jar;
+        private final ByteBuffer zip;
+        private final List<int[]> entries;
+        private final int from;
+        private final int to;
+        private final Sink sink;
+
+        JarTask(Path jar, ByteBuffer zip, List<int[]> entries, int from, int to, Sink sink) {
+            this.jar = jar;
+            this.zip = zip;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > JAR_SLICE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new JarTask(jar, zip, entries, from, mid, sink), new JarTask(jar, zip, entries, mid, to, sink));
+                return;
+            }
+            // Setiap task memakai view sendiri; posisi/limit ByteBuffer tidak thread-safe
+            ByteBuffer view = zip.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = from; i < to; i++) {
+                int[] e = entries.get(i);
+                String where = jar + "!" + e[0];
+                try {
+                    sink.accept(where, entry(view, e));
+                } catch (IOException ex) {
+                    sink.errors.add(ex);
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer entry(ByteBuffer zip, int[] e) throws IOException {
+        int local = e[0];
+        if (zip.getInt(local) != 0x04034b50) throw new IOException("bad local header at " + local);
+        int data = local + 30 + Short.toUnsignedInt(zip.getShort(local + 26)) + Short.toUnsignedInt(zip.getShort(local + 28));
+        ByteBuffer compressed = zip.slice(data, e[2]);
+        if (e[1] == ZipEntry.STORED) return compressed.order(ByteOrder.BIG_ENDIAN);
+        if (e[1] != ZipEntry.DEFLATED) throw new IOException("unsupported compression method " + e[1]);
+
+        ByteBuffer buf = BUFFER.get();
+        if (buf.capacity() < e[3]) {
+            buf = ByteBuffer.allocate(e[3]);
+            BUFFER.set(buf);
+        }
+        buf.clear().limit(e[3]);
+        Inflater inf = INFLATER.get();
+        inf.reset();
+        inf.setInput(compressed);
+        try {
+            while (buf.hasRemaining() && !inf.finished()) {
+                if (inf.inflate(buf) == 0 && (inf.needsInput() || inf.needsDictionary())) break;
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("corrupt entry at " + local + ": " + ex.getMessage());
+        }
+        return buf.flip();
+    }
+
+    private static void scanJarFallback(Path jar, Sink sink) throws IOException {
+        try (ZipFile zf = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> en = zf.entries();
+            while (en.hasMoreElements()) {
+                ZipEntry ze = en.nextElement();
+                if (!ze.getName().endsWith(".class") || ze.getName().startsWith("META-INF/")) continue;
+                try (InputStream in = zf.getInputStream(ze)) {
+                    sink.accept(jar + "!" + ze.getName(), ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- class-file parsing
+
+    /**
+     * Minimal class-file reader: constant pool, this/super/interfaces, field and method descriptors,
+     * and for {@code module-info} the {@code Module} attribute. Everything else is skipped by length.
+     */
+    private static class ClassFile {
+        private static final int UTF8 = 1, CLASS = 7, NAME_AND_TYPE = 12, METHOD_TYPE = 16, MODULE = 19;
+
+        String thisClass;
+        String moduleName;
+        final Set<String> dependencies = new HashSet<>();
+        final Set<String> requires = new TreeSet<>();
+
+        private final ByteBuffer b;
+        private final int[] offsets;
+        private final byte[] tags;
+        private final String[] utf8;
+
+        ClassFile(ByteBuffer classFile) {
+            b = classFile.slice().order(ByteOrder.BIG_ENDIAN);
+            if (b.getInt() != 0xCAFEBABE) throw new IllegalArgumentException("bad magic");
+            b.getInt(); // minor, major
+            int count = u2();
+            offsets = new int[count];
+            tags = new byte[count];
+            utf8 = new String[count];
+            for (int i = 1; i < count; i++) {
+                byte tag = b.get();
+                tags[i] = tag;
+                offsets[i] = b.position();
+                switch (tag) {
+                    case UTF8: b.position(b.position() + 2 + u2At(b.position())); break;
+                    case 3: case 4: case 9: case 10: case 11: case NAME_AND_TYPE: case 17: case 18: skip(4); break;
+                    case 5: case 6: skip(8); i++; break;
+                    case CLASS: case 8: case METHOD_TYPE: case MODULE: case 20: skip(2); break;
+                    case 15: skip(3); break;
+                    default: throw new IllegalArgumentException("unknown constant tag " + tag);
+                }
+            }
+
+            for (int i = 1; i < count; i++) {
+                switch (tags[i]) {
+                    case CLASS: addClass(utf8(u2At(offsets[i]))); break;
+                    case NAME_AND_TYPE: addDescriptor(utf8(u2At(offsets[i] + 2))); break;
+                    case METHOD_TYPE: addDescriptor(utf8(u2At(offsets[i]))); break;
+                    default: break;
+                }
+            }
+
+            int access = u2();
+            int thisIndex = u2();
+            skip(2); // super_class: sudah tercakup oleh entri CONSTANT_Class
+            skip(2 * u2()); // interfaces: idem
+            String name = utf8(u2At(offsets[thisIndex])).replace('/', '.');
+            if ((access & 0x8000) != 0) {
+                readModule();
+                return;
+            }
+            thisClass = name;
+            members(); // fields
+            members(); // methods
+            dependencies.remove(name);
+        }
+
+        private void members() {
+            int n = u2();
+            for (int i = 0; i < n; i++) {
+                skip(4); // access, name
+                addDescriptor(utf8(u2()));
+                skipAttributes();
+            }
+        }
+
+        private void readModule() {
+            skip(2 * u2()); // fields
+            skip(2 * u2()); // methods (module-info tidak punya field/method)
+            int attrs = u2();
+            for (int i = 0; i < attrs; i++) {
+                String attr = utf8(u2());
+                int len = b.getInt();
+                int end = b.position() + len;
+                if (attr.equals("Module")) {
+                    moduleName = utf8(u2At(offsets[u2()]));
+                    skip(4); // flags, version
+                    int n = u2();
+                    for (int r = 0; r < n; r++) {
+                        requires.add(utf8(u2At(offsets[u2()])));
+                        skip(4); // flags, version
+                    }
+                }
+                b.position(end);
+            }
+        }
+
+        private void skipAttributes() {
+            int n = u2();
+            for (int i = 0; i < n; i++) {
+                skip(2);
+                skip(b.getInt());
+            }
+        }
+
+        private void addClass(String internalName) {
+            if (internalName.startsWith("[")) {
+                addDescriptor(internalName);
+            } else {
+                dependencies.add(internalName.replace('/', '.'));
+            }
+        }
+
+        // Ambil setiap L...; dari descriptor field/method
+        private void addDescriptor(String d) {
+            for (int i = d.indexOf('L'); i >= 0; i = d.indexOf('L', i)) {
+                int end = d.indexOf(';', i);
+                if (end < 0) return;
+                dependencies.add(d.substring(i + 1, end).replace('/', '.'));
+                i = end + 1;
+            }
+        }
+
+        private String utf8(int index) {
+            String s = utf8[index];
+            if (s != null) return s;
+            int off = offsets[index];
+            int len = u2At(off);
+            byte[] raw = new byte[len];
+            b.get(off + 2, raw);
+            boolean ascii = true;
+            for (byte x : raw) if (x < 0 || x == 0) ascii = false;
+            if (ascii) {
+                s = new String(raw, StandardCharsets.ISO_8859_1);
+            } else {
+                // modified UTF-8, sama seperti DataInput.readUTF
+                byte[] withLen = new byte[len + 2];
+                withLen[0] = (byte) (len >>> 8);
+                withLen[1] = (byte) len;
+                System.arraycopy(raw, 0, withLen, 2, len);
+                try {
+                    s = new DataInputStream(new ByteArrayInputStream(withLen)).readUTF();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("bad utf8 constant", e);
+                }
+            }
+            utf8[index] = s;
+            return s;
+        }
+
+        private int u2() {
+            return Short.toUnsignedInt(b.getShort());
+        }
+
+        private int u2At(int pos) {
+            return Short.toUnsignedInt(b.getShort(pos));
+        }
+
+        private void skip(int n) {
+            b.position(b.position() + n);
+        }
+    }
+
+    // ---------------------------------------------------------------- output
+
+    // Format sama dengan laporan jdeps lama (kunci package/afferent/efferent/...), ditambah level & classes
+    private static void writeJson(Path out, Report r) throws IOException {
+        List<Coupling> all = new ArrayList<>(r.modules.values());
+        all.addAll(r.packages.values());
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("[\n");
+            for (int i = 0; i < all.size(); i++) {
+                Coupling c = all.get(i);
+                w.write("    {\n");
+                w.write("        \"level\": " + quote(c.level) + ",\n");
+                w.write("        \"package\": " + quote(c.name.isEmpty() ? "(default)" : c.name) + ",\n");
+                w.write("        \"analyzed\": " + c.analyzed + ",\n");
+                w.write("        \"classes\": " + c.classes + ",\n");
+                w.write("        \"afferent\": " + c.afferent.size() + ",\n");
+                w.write("        \"efferent\": " + c.efferent.size() + ",\n");
+                w.write("        \"instability\": " + String.format(Locale.ROOT, "%.3f", c.instability()) + ",\n");
+                w.write("        \"efferent_list\": " + quote(String.join(", ", c.efferent)) + ",\n");
+                w.write("        \"afferent_list\": " + quote(String.join(", ", c.afferent)) + "\n");
+                w.write(i == all.size() - 1 ? "    }\n" : "    },\n");
+            }
+            w.write("]\n");
+        }
+    }
+
+    // Daftar edge per class, pengganti jdeps -verbose:class
+    private static void writeEdges(Path out, Report r) throws IOException {
+        Map<String, Set<String>> sorted = new TreeMap<>();
+        for (ClassInfo c : r.classes) sorted.put(c.name, new TreeSet<>(c.dependencies));
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Set<String>> e : sorted.entrySet()) {
+                for (String dep : e.getValue()) w.write(String.format("%-50s -> %s%n", e.getKey(), dep));
+            }
+        }
+    }
+
+    private static String quote(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static List<Path> paths(String v) {
+        List<Path> list = new ArrayList<>();
+        for (String s : v.split(",")) if (!s.isBlank()) list.add(Path.of(s.trim()));
+        return list;
+    }
+}
@@ -0,0 +1,88 @@
+package Main;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * The expensive {@code heavyData} of a {@link Car}, shared by a prototype and all of its clones.
+ *
+ * <p>Normally the bytes are held strongly. {@link PayloadRetention} may {@link #downgrade()} the payload
+ * of an idle prototype to a {@link SoftReference} under memory pressure; the next {@link #data()} or
+ * {@link #touch()} takes it back, regenerating the content if the GC has already cleared it. The
+ * content is a pure function of the size, so a regenerated payload is identical to the original.
+ * Payloads that no registry tracks never touch {@link PayloadRetention} at all.
+ */
+final class HeavyPayload {
+
+    final int size;
+    private volatile byte[] strong;
+    private SoftReference<byte[]> soft;
+    // Epoch of PayloadRetention in which this payload was last used; written only when it changes
+    private volatile int lastEpoch;
+
+    HeavyPayload(int size) {
+        this.size = size;
+        this.strong = fill(size);
+    }
+
+    /** The bytes, regenerated first if they were reclaimed. */
+    byte[] data() {
+        byte[] b = strong;
+        return b != null ? b : promote();
+    }
+
+    /**
+     * Marks the payload as used and makes it strong again; called on every clone of its prototype by a
+     * registry with adaptive retention enabled.
+     */
+    void touch() {
+        if (strong == null) promote();
+        markUsed();
+    }
+
+    int lastEpoch() {
+        return lastEpoch;
+    }
+
+    boolean isStrong() {
+        return strong != null;
+    }
+
+    /** Keeps the bytes only softly reachable; returns false when already downgraded. */
+    synchronized boolean downgrade() {
+        byte[] b = strong;
+        if (b == null) return false;
+        soft = new SoftReference<>(b);
+        strong = null;
+        return true;
+    }
+
+    void markUsed() {
+        int e = PayloadRetention.epoch;
+        if (lastEpoch != e) lastEpoch = e;
+    }
+
+    private synchronized byte[] promote() {
+        byte[] b = strong;
+        if (b != null) return b;
+        b = soft == null ? null : soft.get();
+        if (b == null) {
+            b = fill(size);
+            PayloadRetention.regenerated();
+        } else {
+            PayloadRetention.revived();
+        }
+        soft = null;
+        strong = b;
+        return b;
+    }
+
+    // Expensive initialization: allocate and fill a large array to simulate heavy setup
+    private static byte[] fill(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < data.length; i++) {
+            // simple deterministic work to prevent JIT from optimizing away
+            data[i] = (byte) (i % 127);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,148 @@
+package Main;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Persistent per-file LOC cache so reruns only recount files that changed.
+ *
+ * <p>A file is a hit when its size and modification time match the cached entry. When they don't
+ * (e.g. the file was regenerated or checked out again) the content is read once and its SHA-256 is
+ * compared with the cached hash; only a different hash triggers a recount. The cache is a small TSV
+ * file ({@code path, size, mtime, sha256, loc}) written atomically by {@link #save()}.
+ */
+public class LocCache {
+
+    public static final Path DEFAULT_PATH = Path.of("charts", "loc_cache.tsv");
+
+    private static class Entry {
+        final long size;
+        final long mtime;
+        final String hash;
+        final int loc;
+
+        Entry(long size, long mtime, String hash, int loc) {
+            this.size = size;
+            this.mtime = mtime;
+            this.hash = hash;
+            this.loc = loc;
+        }
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> seen = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger hashHits = new AtomicInteger();
+    private final AtomicInteger recounts = new AtomicInteger();
+
+    private LocCache(Path file) {
+        this.file = file;
+    }
+
+    /** Loads the cache at {@code file}; a missing or unreadable cache simply starts empty. */
+    public static LocCache open(Path file) {
+        LocCache c = new LocCache(file);
+        if (!Files.exists(file)) return c;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] p = line.split("\t");
+                if (p.length != 5) continue;
+                c.entries.put(p[0], new Entry(Long.parseLong(p[1]), Long.parseLong(p[2]), p[3], Integer.parseInt(p[4])));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("LOC cache " + file + " unreadable, starting empty: " + e.getMessage());
+            c.entries.clear();
+        }
+        return c;
+    }
+
+    /** Effective LOC of {@code path}, served from the cache when the file is unchanged. */
+    public int count(Path path) throws IOException {
+        return count(path, Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    int count(Path path, BasicFileAttributes attrs) throws IOException {
+        String key = path.toAbsolutePath().normalize().toString();
+        seen.put(key, Boolean.TRUE);
+        long size = attrs.size();
+        long mtime = attrs.lastModifiedTime().toMillis();
+
+        Entry e = entries.get(key);
+        if (e != null && e.size == size && e.mtime == mtime) {
+            hits.incrementAndGet();
+            return e.loc;
+        }
+
+        byte[] content = Files.readAllBytes(path);
+        String hash = sha256(content);
+        if (e != null && e.hash.equals(hash)) {
+            hashHits.incrementAndGet();
+            entries.put(key, new Entry(size, mtime, hash, e.loc));
+            return e.loc;
+        }
+
+        recounts.incrementAndGet();
+        int loc = LocCounter.countEffectiveLines(content);
+        entries.put(key, new Entry(size, mtime, hash, loc));
+        return loc;
+    }
+
+    /** {@link LocCounter#countTree} through this cache. */
+    public LocCounter.Summary countTree(Path root, Predicate<Path> filter, int parallelism) throws IOException {
+        return LocCounter.countTree(root, filter, parallelism, this::count);
+    }
+
+    /**
+     * Writes the cache, dropping entries under {@code root} that were not seen in this run
+     * (deleted files). Pass {@code null} to keep every entry.
+     */
+    public void save(Path root) throws IOException {
+        if (root != null) {
+            // With the separator, so that saving for .../generated leaves .../generated2 alone
+            String prefix = root.toAbsolutePath().normalize().toString();
+            String under = prefix.endsWith(File.separator) ? prefix : prefix + File.separator;
+            entries.keySet().removeIf(k -> k.startsWith(under) && !seen.containsKey(k));
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "loc_cache", ".tmp");
+        try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry v = e.getValue();
+                w.write(e.getKey() + "\t" + v.size + "\t" + v.mtime + "\t" + v.hash + "\t" + v.loc);
+                w.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void save() throws IOException {
+        save(null);
+    }
+
+    public String stats() {
+        return String.format("cache: %d hits, %d hash hits, %d recounted", hits.get(), hashHits.get(), recounts.get());
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is required on every JVM", e);
+        }
+    }
+}
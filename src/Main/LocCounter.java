@@ -0,0 +1,353 @@
+package Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Effective-LOC engine shared by {@link ModularityLOC} and {@code LocChartAndReport}.
+ *
+ * <p>A line counts when it contains any non-whitespace character outside comments. Files are scanned
+ * as bytes through a small reusable buffer (large files are memory-mapped), so no {@code List<String>}
+ * is ever built. The tokenizer understands line/block comments, string and char literals (with escapes)
+ * and text blocks, so code after an inline {@code *}{@code /} is counted and {@code /*} inside a string
+ * does not start a comment. Trees are walked in parallel on a fork/join pool.
+ */
+public class LocCounter {
+
+    // Files at least this large are memory-mapped instead of read through the buffer
+    private static final long MAP_THRESHOLD = 4L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    public static class FileResult {
+        public final Path path;
+        public final long bytes;
+        public final int loc;
+
+        public FileResult(Path path, long bytes, int loc) {
+            this.path = path;
+            this.bytes = bytes;
+            this.loc = loc;
+        }
+    }
+
+    public static class Summary {
+        public final List<FileResult> files;
+        public final long bytes;
+        public final long loc;
+        public final long nanos;
+
+        Summary(List<FileResult> files, long nanos) {
+            this.files = files;
+            long b = 0, l = 0;
+            for (FileResult f : files) {
+                b += f.bytes;
+                l += f.loc;
+            }
+            this.bytes = b;
+            this.loc = l;
+            this.nanos = nanos;
+        }
+
+        public double filesPerSecond() {
+            return files.size() / (nanos / 1e9);
+        }
+
+        public double megabytesPerSecond() {
+            return bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d files, %.1f MB, %d LOC in %.1f ms (%.0f files/s, %.1f MB/s)",
+                    files.size(), bytes / (1024.0 * 1024.0), loc, nanos / 1e6, filesPerSecond(), megabytesPerSecond());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: LocCounter <root> [extension ...]   (default extension: .java)");
+            System.exit(2);
+        }
+        Path root = Path.of(args[0]);
+        List<String> exts = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) exts.add(args[i]);
+        if (exts.isEmpty()) exts.add(".java");
+        Summary s = countTree(root, p -> {
+            String name = p.getFileName().toString();
+            for (String e : exts) if (name.endsWith(e)) return true;
+            return false;
+        }, Runtime.getRuntime().availableProcessors());
+        System.out.println(root + ": " + s);
+    }
+
+    /** Effective LOC of one file. */
+    public static int countEffectiveLines(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            Scanner sc = new Scanner();
+            if (size >= MAP_THRESHOLD) {
+                byte[] arr = BUFFER.get().array();
+                for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                    MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos));
+                    while (mb.hasRemaining()) {
+                        int n = Math.min(arr.length, mb.remaining());
+                        mb.get(arr, 0, n);
+                        sc.feed(arr, 0, n);
+                    }
+                }
+            } else {
+                ByteBuffer buf = BUFFER.get();
+                byte[] arr = buf.array();
+                int r;
+                while ((r = ch.read(buf.clear())) >= 0) {
+                    sc.feed(arr, 0, r);
+                }
+            }
+            return sc.finish();
+        }
+    }
+
+    /** Effective LOC of an in-memory source. */
+    public static int countEffectiveLines(byte[] source) {
+        Scanner sc = new Scanner();
+        sc.feed(source, 0, source.length);
+        return sc.finish();
+    }
+
+    /**
+     * Counts every regular file under {@code root} accepted by {@code filter}, walking directories in
+     * parallel. Symbolic links are not followed and {@code .git} directories are skipped.
+     */
+    public static Summary countTree(Path root, Predicate<Path> filter, int parallelism) throws IOException {
+        return countTree(root, filter, parallelism, (p, a) -> countEffectiveLines(p));
+    }
+
+    /** Per-file counting step of {@link #countTree}; lets {@link LocCache} answer from its cache. */
+    public interface FileCounter {
+        int count(Path file, BasicFileAttributes attrs) throws IOException;
+    }
+
+    /** Same walk as {@link #countTree(Path, Predicate, int)} but with a custom per-file counter. */
+    public static Summary countTree(Path root, Predicate<Path> filter, int parallelism, FileCounter counter) throws IOException {
+        long t0 = System.nanoTime();
+        Queue<FileResult> results = new ConcurrentLinkedQueue<>();
+        Queue<IOException> errors = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            if (Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+                pool.invoke(new DirTask(root, filter, counter, results, errors));
+            } else {
+                BasicFileAttributes a = Files.readAttributes(root, BasicFileAttributes.class);
+                results.add(new FileResult(root, a.size(), counter.count(root, a)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        for (IOException e : errors) System.err.println("LOC: skipped " + e.getMessage());
+        return new Summary(new ArrayList<>(results), System.nanoTime() - t0);
+    }
+
+    // Hanya dipakai di dalam fork/join pool, tidak pernah diserialisasi
+    @SuppressWarnings("serial")
+    private static class DirTask extends RecursiveAction {
+        private final Path dir;
+        private final Predicate<Path> filter;
+        private final FileCounter counter;
+        private final Queue<FileResult> results;
+        private final Queue<IOException> errors;
+
+        DirTask(Path dir, Predicate<Path> filter, FileCounter counter, Queue<FileResult> results, Queue<IOException> errors) {
+            this.dir = dir;
+            this.filter = filter;
+            this.counter = counter;
+            this.results = results;
+            this.errors = errors;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirTask> subdirs = new ArrayList<>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+                for (Path p : ds) {
+                    BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (a.isDirectory()) {
+                        if (!p.getFileName().toString().equals(".git")) {
+                            DirTask t = new DirTask(p, filter, counter, results, errors);
+                            t.fork();
+                            subdirs.add(t);
+                        }
+                    } else if (a.isRegularFile() && filter.test(p)) {
+                        try {
+                            results.add(new FileResult(p, a.size(), counter.count(p, a)));
+                        } catch (IOException e) {
+                            errors.add(e);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                errors.add(e);
+            }
+            for (DirTask t : subdirs) t.join();
+        }
+    }
+
+    /**
+     * Byte-level tokenizer. Works on UTF-8 (and any ASCII-compatible encoding) because every
+     * delimiter it looks for is ASCII and multi-byte sequences never contain ASCII bytes.
+     */
+    private static class Scanner {
+        private static final int CODE = 0, LINE_COMMENT = 1, BLOCK_COMMENT = 2, STRING = 3,
+                EMPTY_STRING = 4, TEXT_BLOCK = 5, CHAR = 6;
+
+        private int state = CODE;
+        private boolean lineHasCode;
+        private boolean slash;      // CODE: previous byte was '/' (comment start or division)
+        private boolean star;       // BLOCK_COMMENT: previous byte was '*'
+        private boolean escape;     // STRING/CHAR/TEXT_BLOCK: previous byte was an unescaped '\'
+        private int quotes;         // TEXT_BLOCK: consecutive closing quotes seen
+        private boolean stringEmpty;
+        private int count;
+
+        /** Scans {@code len} bytes; state is kept in locals for the hot loop and written back at the end. */
+        @SuppressWarnings("fallthrough")
+        void feed(byte[] a, int off, int len) {
+            int state = this.state;
+            boolean lineHasCode = this.lineHasCode, slash = this.slash, star = this.star, escape = this.escape;
+            boolean stringEmpty = this.stringEmpty;
+            int quotes = this.quotes, count = this.count;
+
+            for (int i = off, end = off + len; i < end; i++) {
+                byte b = a[i];
+                if (b == '\n') {
+                    if (slash) {
+                        slash = false;
+                        lineHasCode = true;
+                    }
+                    if (lineHasCode) count++;
+                    lineHasCode = false;
+                    // line comments and (unterminated) string/char literals end at the newline; text blocks and block comments don't
+                    if (state == LINE_COMMENT || state == STRING || state == EMPTY_STRING || state == CHAR) state = CODE;
+                    star = false;
+                    if (state != TEXT_BLOCK) escape = false;
+                    continue;
+                }
+                switch (state) {
+                    case LINE_COMMENT:
+                        break;
+                    case BLOCK_COMMENT:
+                        if (star && b == '/') state = CODE;
+                        star = b == '*';
+                        break;
+                    case STRING:
+                        if (!isSpace(b)) lineHasCode = true;
+                        if (escape) {
+                            escape = false;
+                        } else if (b == '\\') {
+                            escape = true;
+                        } else if (b == '"') {
+                            state = stringEmpty ? EMPTY_STRING : CODE;
+                        }
+                        stringEmpty = false;
+                        break;
+                    case TEXT_BLOCK:
+                        if (!isSpace(b)) lineHasCode = true;
+                        if (escape) {
+                            escape = false;
+                            quotes = 0;
+                        } else if (b == '\\') {
+                            escape = true;
+                            quotes = 0;
+                        } else if (b == '"') {
+                            if (++quotes == 3) state = CODE;
+                        } else {
+                            quotes = 0;
+                        }
+                        break;
+                    case CHAR:
+                        lineHasCode = true;
+                        if (escape) {
+                            escape = false;
+                        } else if (b == '\\') {
+                            escape = true;
+                        } else if (b == '\'') {
+                            state = CODE;
+                        }
+                        break;
+                    case EMPTY_STRING:
+                        // saw "" -- a third quote opens a text block, anything else was just an empty string
+                        if (b == '"') {
+                            state = TEXT_BLOCK;
+                            quotes = 0;
+                            break;
+                        }
+                        state = CODE;
+                        // fall through: b belongs to the code after the empty string
+                    default: // CODE
+                        if (slash) {
+                            slash = false;
+                            if (b == '/') {
+                                state = LINE_COMMENT;
+                                break;
+                            }
+                            if (b == '*') {
+                                state = BLOCK_COMMENT;
+                                star = false;
+                                break;
+                            }
+                            lineHasCode = true; // the '/' was an operator
+                        }
+                        if (b == '/') {
+                            slash = true;
+                        } else if (b == '"') {
+                            lineHasCode = true;
+                            state = STRING;
+                            stringEmpty = true;
+                            escape = false;
+                        } else if (b == '\'') {
+                            lineHasCode = true;
+                            state = CHAR;
+                            escape = false;
+                        } else if (!isSpace(b)) {
+                            lineHasCode = true;
+                        }
+                }
+            }
+
+            this.state = state;
+            this.lineHasCode = lineHasCode;
+            this.slash = slash;
+            this.star = star;
+            this.escape = escape;
+            this.stringEmpty = stringEmpty;
+            this.quotes = quotes;
+            this.count = count;
+        }
+
+        int finish() {
+            feed(NEWLINE, 0, 1);
+            return count;
+        }
+
+        private static final byte[] NEWLINE = { '\n' };
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+        }
+    }
+}
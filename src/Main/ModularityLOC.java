@@ -1,114 +1,291 @@
 package Main;
 
-import java.io.IOException;
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Membuat contoh PrototypeUsage_N / ConstructorUsage_N lalu menghitung LOC-nya.
+  - Argumen opsional key=value: ns=1,2,5  fields=12  prototypes=1  outDir=src/Main/generated  threads=<cpu>
+    (fields dan prototypes boleh berisi beberapa nilai; semua kombinasi = varian).
+  - Setiap file ditulis paralel dan di-stream lewat BufferedWriter (lihat UsageSourceGenerator),
+    method besar dipecah agar tidak melewati batas 64 KB JVM.
+  - Dilaporkan per N: waktu generate, ukuran file, byte yang dialokasikan thread ("n/a" bila JVM tidak
+    mendukung), LOC, dan puncak heap terpakai. Puncak = maksimum total heap terpakai yang diambil sampler
+    setiap ~1 ms (bukan jumlah peak per memory pool, karena pool mencapai puncaknya pada waktu berbeda);
+    N dikerjakan bergiliran supaya puncaknya per N, file dalam satu N tetap paralel.
+  - Setelah itu setiap contoh dengan N <= compileMax (default 10000) dikompilasi di memori dengan
+    javax.tools (lihat SampleCompiler), dimuat di class loader terpisah lalu dijalankan. Waktu javac,
+    ukuran bytecode, waktu class-load, dan waktu eksekusi ditulis ke charts/compile<suffix>.csv.
+    Matikan dengan compile=false; heavy=<byte> mengatur Car.HEAVY_DATA_SIZE selama eksekusi.
+ Untuk sweep besar (mis. N sampai 100000) gunakan outDir di luar src/ agar tidak ikut dikompilasi IDE.
+*/
 
 public class ModularityLOC {
 
+    private static class GenResult {
+        final UsageSourceGenerator.Variant variant;
+        final int n;
+        final boolean prototype;
+        final long nanos;
+        final long bytes;
+        final long allocatedBytes;
+        final int loc;
+
+        GenResult(UsageSourceGenerator.Variant variant, int n, boolean prototype, long nanos, long bytes, long allocatedBytes, int loc) {
+            this.variant = variant;
+            this.n = n;
+            this.prototype = prototype;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.allocatedBytes = allocatedBytes;
+            this.loc = loc;
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         int[] ns = new int[] { 1, 2, 5 };
-
+        int[] fields = new int[] { 12 };
+        int[] prototypes = new int[] { 1 };
         Path outDir = Path.of(System.getProperty("user.dir"), "src", "Main", "generated");
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean compile = true;
+        int compileMax = 10_000;
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "ns": ns = ints(v); break;
+                case "fields": fields = ints(v); break;
+                case "prototypes": prototypes = ints(v); break;
+                case "outDir": outDir = Path.of(v); break;
+                case "threads": threads = Integer.parseInt(v); break;
+                case "compile": compile = Boolean.parseBoolean(v); break;
+                case "compileMax": compileMax = Integer.parseInt(v.replace("_", "")); break;
+                case "heavy": Car.setHeavyDataSize(Integer.parseInt(v.replace("_", ""))); break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
         Files.createDirectories(outDir);
+        Path dir = outDir;
 
-        StringBuilder csv = new StringBuilder();
-        csv.append("N,Prototype_LOC,Constructor_LOC\n");
-
-        for (int n : ns) {
-            String protoName = "PrototypeUsage_" + n;
-            String consName = "ConstructorUsage_" + n;
+        List<UsageSourceGenerator.Variant> variants = new ArrayList<>();
+        for (int f : fields) for (int p : prototypes) variants.add(new UsageSourceGenerator.Variant(f, p));
 
-            Path protoFile = outDir.resolve(protoName + ".java");
-            Path consFile = outDir.resolve(consName + ".java");
+        // Cache LOC per file: file yang isinya tidak berubah tidak dihitung ulang
+        Path chartsDir = Path.of(System.getProperty("user.dir"), "charts");
+        LocCache cache = LocCache.open(chartsDir.resolve("loc_cache.tsv"));
 
-            String protoSrc = generatePrototypeSource(protoName, n);
-            String consSrc = generateConstructorSource(consName, n);
+        long t0 = System.nanoTime();
 
-            Files.writeString(protoFile, protoSrc, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            Files.writeString(consFile, consSrc, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        // Satu task per file; setiap task menulis, mengukur, lalu menghitung LOC filenya sendiri.
+        // N dikerjakan satu per satu supaya puncak heap bisa diukur per N.
+        ExecutorService exec = Executors.newFixedThreadPool(Math.max(1, threads));
+        List<GenResult> results = new ArrayList<>();
+        long[] peakHeap = new long[ns.length];
+        try (HeapSampler sampler = HeapSampler.start()) {
+            for (int i = 0; i < ns.length; i++) {
+                int n = ns[i];
+                sampler.reset();
+                List<Future<GenResult>> futures = new ArrayList<>();
+                for (UsageSourceGenerator.Variant v : variants) {
+                    futures.add(exec.submit(() -> generate(dir, cache, v, n, true)));
+                    futures.add(exec.submit(() -> generate(dir, cache, v, n, false)));
+                }
+                for (Future<GenResult> f : futures) results.add(f.get());
+                peakHeap[i] = sampler.peak();
+            }
+            long totalNanos = System.nanoTime() - t0;
 
-            int protoLOC = countEffectiveLines(protoFile);
-            int consLOC = countEffectiveLines(consFile);
+            Files.createDirectories(chartsDir);
+            cache.save();
+            for (UsageSourceGenerator.Variant v : variants) writeResults(chartsDir, v, ns, results, peakHeap);
 
-            System.out.printf("N=%d -> Prototype LOC=%d, Constructor LOC=%d%n", n, protoLOC, consLOC);
-            csv.append(String.format("%d,%d,%d\n", n, protoLOC, consLOC));
+            System.out.printf("Generated %d files in %.1f ms on %d thread(s); peak heap %.1f MB%n",
+                    results.size(), totalNanos / 1e6, threads, Arrays.stream(peakHeap).max().orElse(0) / (1024.0 * 1024.0));
+            System.out.println("LOC " + cache.stats());
+        } finally {
+            exec.shutdown();
         }
 
-        Path chartsDir = Path.of(System.getProperty("user.dir"), "charts");
-        Files.createDirectories(chartsDir);
-        Path outCsv = chartsDir.resolve("loc_results.csv");
-        Files.writeString(outCsv, csv.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (compile) compileSamples(chartsDir, variants, ns, compileMax);
+    }
 
-        System.out.println("LOC results saved to " + outCsv.toString());
+    // Kompilasi berurutan (bukan paralel) agar waktu javac/load/exec per N tidak saling mengganggu
+    private static void compileSamples(Path chartsDir, List<UsageSourceGenerator.Variant> variants, int[] ns, int compileMax) throws Exception {
+        SampleCompiler compiler = SampleCompiler.create();
+        if (compiler == null) {
+            System.err.println("No system Java compiler (running on a JRE?); skipping compile measurements.");
+            return;
+        }
+        // Pemanasan: kompilasi pertama memuat javac sendiri dan akan mendominasi N terkecil
+        UsageSourceGenerator.Variant first = variants.get(0);
+        compiler.compileAndRun("Warmup", w -> UsageSourceGenerator.writePrototypeSource(w, "Warmup", 1, first));
+
+        for (UsageSourceGenerator.Variant v : variants) {
+            StringBuilder csv = new StringBuilder();
+            csv.append("N,Kind,Javac_ms,Bytecode_bytes,Classes,Load_ms,Exec_ms\n");
+            System.out.println("Compile " + v + ":");
+            for (int n : ns) {
+                if (n > compileMax) {
+                    System.out.println("N=" + n + " skipped (compileMax=" + compileMax + ")");
+                    continue;
+                }
+                String pName = UsageSourceGenerator.prototypeClassName(n, v);
+                String cName = UsageSourceGenerator.constructorClassName(n, v);
+                SampleCompiler.Result p = compiler.compileAndRun(pName, w -> UsageSourceGenerator.writePrototypeSource(w, pName, n, v));
+                SampleCompiler.Result c = compiler.compileAndRun(cName, w -> UsageSourceGenerator.writeConstructorSource(w, cName, n, v));
+                System.out.printf("N=%d -> javac %.1f / %.1f ms, bytecode %.1f / %.1f KB, load %.2f / %.2f ms, exec %.2f / %.2f ms%n",
+                        n, p.javacNanos / 1e6, c.javacNanos / 1e6, p.bytecodeBytes / 1024.0, c.bytecodeBytes / 1024.0,
+                        p.loadNanos / 1e6, c.loadNanos / 1e6, p.execNanos / 1e6, c.execNanos / 1e6);
+                for (SampleCompiler.Result r : new SampleCompiler.Result[] { p, c }) {
+                    csv.append(String.format(Locale.ROOT, "%d,%s,%.3f,%d,%d,%.3f,%.3f\n", n, r == p ? "Prototype" : "Constructor",
+                            r.javacNanos / 1e6, r.bytecodeBytes, r.classes, r.loadNanos / 1e6, r.execNanos / 1e6));
+                }
+            }
+            Path out = chartsDir.resolve("compile" + v.suffix() + ".csv");
+            Files.writeString(out, csv.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            System.out.println("Compile results saved to " + out);
+        }
     }
 
-    private static String generatePrototypeSource(String className, int n) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("package Main.generated;\n\n");
-        sb.append("import Main.Car;\n");
-        sb.append("import Main.CarRegist;\n\n");
-        sb.append("public class ").append(className).append(" {\n");
-        sb.append("    public static void main(String[] args) {\n");
-        sb.append("        // create base and registry (simplified)\n");
-        sb.append("        Car base = new Car(\"Make\", \"Model\", \"Color\", 2025, java.util.Arrays.asList(\"F\"));\n");
-        sb.append("        CarRegist registry = new CarRegist();\n");
-        sb.append("        registry.addPrototype(\"key\", base);\n\n");
-        for (int i = 0; i < n; i++) {
-            sb.append("        Car c").append(i).append(" = registry.getClone(\"key\");\n");
-            sb.append("        c").append(i).append(".setColor(c").append(i).append(".getColor() + \"#\" + ").append(i).append(");\n");
+    private static GenResult generate(Path outDir, LocCache cache, UsageSourceGenerator.Variant v, int n, boolean prototype) throws Exception {
+        String name = prototype ? UsageSourceGenerator.prototypeClassName(n, v) : UsageSourceGenerator.constructorClassName(n, v);
+        Path file = outDir.resolve(name + ".java");
+
+        long alloc0 = allocatedBytes();
+        long t0 = System.nanoTime();
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (prototype) {
+                UsageSourceGenerator.writePrototypeSource(w, name, n, v);
+            } else {
+                UsageSourceGenerator.writeConstructorSource(w, name, n, v);
+            }
         }
-        sb.append("    }\n");
-        sb.append("}\n");
-        return sb.toString();
+        long nanos = System.nanoTime() - t0;
+        long allocated = alloc0 < 0 ? -1 : allocatedBytes() - alloc0;
+
+        return new GenResult(v, n, prototype, nanos, Files.size(file), allocated, cache.count(file));
     }
 
-    private static String generateConstructorSource(String className, int n) {
-        // Simulate an object with many fields and verbose per-instance setup to show LOC cost
-        int extraFields = 12; // number of per-field setter lines to generate per object
-        StringBuilder sb = new StringBuilder();
-        sb.append("package Main.generated;\n\n");
-        sb.append("import Main.Car;\n\n");
-        sb.append("public class ").append(className).append(" {\n");
-        sb.append("    public static void main(String[] args) {\n");
-        sb.append("        // create base (simplified)\n");
-        sb.append("        Car base = new Car(\"Make\", \"Model\", \"Color\", 2025, java.util.Arrays.asList(\"F\"));\n\n");
-        for (int i = 0; i < n; i++) {
-            sb.append("        Car c").append(i).append(" = new Car(base);\n");
-            // add many setter lines to simulate many fields being tweaked per instance
-            for (int f = 0; f < extraFields; f++) {
-                sb.append("        c").append(i).append(".setColor(c").append(i).append(".getColor() + \"#f").append(f).append("\" );\n");
+    private static void writeResults(Path chartsDir, UsageSourceGenerator.Variant v, int[] ns, List<GenResult> results,
+                                     long[] peakHeap) throws Exception {
+        StringBuilder csv = new StringBuilder();
+        csv.append("N,Prototype_LOC,Constructor_LOC\n");
+        StringBuilder gen = new StringBuilder();
+        gen.append("N,Kind,Generate_ms,File_bytes,Allocated_bytes,LOC,Peak_heap_bytes\n");
+
+        System.out.println("Variant " + v + ":");
+        for (int i = 0; i < ns.length; i++) {
+            int n = ns[i];
+            GenResult p = find(results, v, n, true);
+            GenResult c = find(results, v, n, false);
+            System.out.printf("N=%d -> Prototype LOC=%d, Constructor LOC=%d | generate %.2f / %.2f ms, %.1f / %.1f KB written, %s / %s KB allocated, peak heap %.1f MB%n",
+                    n, p.loc, c.loc, p.nanos / 1e6, c.nanos / 1e6, p.bytes / 1024.0, c.bytes / 1024.0,
+                    kb(p.allocatedBytes), kb(c.allocatedBytes), peakHeap[i] / (1024.0 * 1024.0));
+            csv.append(String.format("%d,%d,%d\n", n, p.loc, c.loc));
+            for (GenResult r : new GenResult[] { p, c }) {
+                gen.append(String.format(Locale.ROOT, "%d,%s,%.3f,%d,%s,%d,%d\n", n, r.prototype ? "Prototype" : "Constructor",
+                        r.nanos / 1e6, r.bytes, r.allocatedBytes < 0 ? "n/a" : Long.toString(r.allocatedBytes), r.loc, peakHeap[i]));
             }
         }
-        sb.append("    }\n");
-        sb.append("}\n");
-        return sb.toString();
+
+        Path outCsv = chartsDir.resolve("loc_results" + v.suffix() + ".csv");
+        Files.writeString(outCsv, csv.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        Path genCsv = chartsDir.resolve("generation" + v.suffix() + ".csv");
+        Files.writeString(genCsv, gen.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        System.out.println("LOC results saved to " + outCsv.toString() + " (generation stats: " + genCsv.getFileName() + ")");
+    }
+
+    private static GenResult find(List<GenResult> results, UsageSourceGenerator.Variant v, int n, boolean prototype) {
+        for (GenResult r : results) {
+            if (r.variant == v && r.n == n && r.prototype == prototype) return r;
+        }
+        throw new IllegalStateException("missing result for N=" + n);
     }
 
-    private static int countEffectiveLines(Path file) throws IOException {
-        List<String> lines = Files.readAllLines(file);
-        boolean inBlock = false;
-        int count = 0;
-        for (String raw : lines) {
-            String line = raw.trim();
-            if (line.isEmpty()) continue;
-            if (!inBlock && line.startsWith("/*")) {
-                inBlock = true;
-                if (line.endsWith("*/") && !line.equals("/*")) {
-                    inBlock = false;
+    private static String kb(long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1f", bytes / 1024.0);
+    }
+
+    // Mengambil sampel total heap terpakai di thread daemon dan menyimpan maksimumnya
+    private static final class HeapSampler implements AutoCloseable {
+        private static final long INTERVAL_NANOS = 1_000_000L;
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peak = new AtomicLong();
+        private volatile boolean running = true;
+        private final Thread thread;
+
+        private HeapSampler() {
+            thread = new Thread(() -> {
+                while (running) {
+                    sample();
+                    LockSupport.parkNanos(INTERVAL_NANOS);
                 }
-                continue;
-            }
-            if (inBlock) {
-                if (line.endsWith("*/")) inBlock = false;
-                continue;
+            }, "heap-sampler");
+            thread.setDaemon(true);
+        }
+
+        static HeapSampler start() {
+            HeapSampler s = new HeapSampler();
+            s.reset();
+            s.thread.start();
+            return s;
+        }
+
+        private void sample() {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            peak.accumulateAndGet(used, Math::max);
+        }
+
+        /** Starts a new measurement at the current heap usage. */
+        void reset() {
+            peak.set(memory.getHeapMemoryUsage().getUsed());
+        }
+
+        /** Largest total heap usage seen since the last {@link #reset()}. */
+        long peak() {
+            sample();
+            return peak.get();
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // Byte yang dialokasikan thread saat ini (HotSpot); -1 bila JVM tidak mendukung
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hs = (com.sun.management.ThreadMXBean) bean;
+            if (hs.isThreadAllocatedMemorySupported() && hs.isThreadAllocatedMemoryEnabled()) {
+                return hs.getCurrentThreadAllocatedBytes();
             }
-            if (line.startsWith("//")) continue;
-            // exclude package and import lines if you want purely code lines, but keep them for transparency
-            count++;
         }
-        return count;
+        return -1;
+    }
+
+    private static int[] ints(String v) {
+        return Arrays.stream(v.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToInt(s -> Integer.parseInt(s.replace("_", ""))).toArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package Main;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Adaptive retention of prototype payloads; one instance per {@link CarRegist} with
+ * {@link CarRegist#setAdaptiveRetention(boolean)} enabled, holding the payloads of that registry.
+ *
+ * <p>The first instance sets a usage threshold and a collection usage threshold, at
+ * {@code car.retention.threshold} (default 0.7) of the pool's maximum, on every heap pool that supports
+ * them. A threshold notification from one of those pools, or a new post-GC crossing seen by
+ * {@link #poll()}, triggers a sweep of every live instance. A sweep downgrades the payloads not used
+ * since the previous sweep to soft references, so the GC can reclaim them before it would throw
+ * {@link OutOfMemoryError}. Idleness is counted in sweeps (epochs), not wall time, so a burst of
+ * registrations cannot pin everything between two checks. An instance that is no longer referenced by
+ * its registry stops being swept.
+ *
+ * <p>Side effect: pool thresholds are JVM-wide settings shared with any other code or agent that uses
+ * {@link MemoryPoolMXBean}. A threshold is only set where none is set yet (the current value is 0); a
+ * pool whose threshold is already in use is left alone and not watched. When the last instance is
+ * released ({@link CarRegist#setAdaptiveRetention(boolean) setAdaptiveRetention(false)}, or its registry
+ * is collected), the listener is removed and every threshold set here is put back to its previous value.
+ */
+public class PayloadRetention {
+
+    public static final double THRESHOLD = Double.parseDouble(System.getProperty("car.retention.threshold", "0.7"));
+
+    /** Incremented by every sweep; payloads remember the epoch of their last use. */
+    static volatile int epoch;
+
+    private static final Queue<WeakReference<PayloadRetention>> INSTANCES = new ConcurrentLinkedQueue<>();
+    private static final LongAdder SWEEPS = new LongAdder();
+    private static final LongAdder DOWNGRADES = new LongAdder();
+    private static final LongAdder REGENERATIONS = new LongAdder();
+    private static final LongAdder REVIVED = new LongAdder();
+
+    // Pools whose usage / collection usage threshold was set here; null while not installed
+    private static List<MemoryPoolMXBean> usagePools;
+    private static List<MemoryPoolMXBean> collectionPools;
+    private static long[] usageSet;
+    private static long[] collectionSet;
+    private static long[] seenCounts;
+    private static NotificationListener listener;
+
+    private final Queue<WeakReference<HeavyPayload>> tracked = new ConcurrentLinkedQueue<>();
+
+    private PayloadRetention() {
+    }
+
+    /** A new, empty set of tracked payloads; installs the heap thresholds on first use. */
+    static synchronized PayloadRetention create() {
+        install();
+        PayloadRetention r = new PayloadRetention();
+        INSTANCES.add(new WeakReference<>(r));
+        return r;
+    }
+
+    /** Stops sweeping this instance; the thresholds are restored once no live instance is left. */
+    void release() {
+        synchronized (PayloadRetention.class) {
+            INSTANCES.removeIf(w -> w.get() == null || w.get() == this);
+            tracked.clear();
+            if (INSTANCES.isEmpty()) uninstall();
+        }
+    }
+
+    // Sets the free thresholds and registers the notification listener once per JVM
+    private static synchronized void install() {
+        if (usagePools != null) return;
+        List<MemoryPoolMXBean> usage = new ArrayList<>();
+        List<MemoryPoolMXBean> collection = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            long max = pool.getUsage().getMax();
+            if (max <= 0) continue;
+            long threshold = (long) (max * THRESHOLD);
+            // 0 berarti belum dipakai siapa pun; threshold milik kode lain tidak ditimpa
+            if (pool.isUsageThresholdSupported() && pool.getUsageThreshold() == 0) {
+                pool.setUsageThreshold(threshold);
+                usage.add(pool);
+            }
+            if (pool.isCollectionUsageThresholdSupported() && pool.getCollectionUsageThreshold() == 0) {
+                pool.setCollectionUsageThreshold(threshold);
+                collection.add(pool);
+            }
+        }
+        usageSet = new long[usage.size()];
+        for (int i = 0; i < usageSet.length; i++) usageSet[i] = usage.get(i).getUsageThreshold();
+        collectionSet = new long[collection.size()];
+        for (int i = 0; i < collectionSet.length; i++) collectionSet[i] = collection.get(i).getCollectionUsageThreshold();
+        seenCounts = new long[collection.size()];
+        for (int i = 0; i < seenCounts.length; i++) seenCounts[i] = collection.get(i).getCollectionUsageThresholdCount();
+        usagePools = usage;
+        collectionPools = collection;
+
+        listener = (n, handback) -> {
+            String pool = MemoryNotificationInfo.from((CompositeData) n.getUserData()).getPoolName();
+            boolean ours = MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(n.getType())
+                    ? owns(usage, pool) : owns(collection, pool);
+            if (ours) sweep();
+        };
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, n ->
+                MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(n.getType())
+                        || MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(n.getType()), null);
+    }
+
+    // Removes the listener and puts back the thresholds set by install (they were 0 before), unless
+    // someone else has changed them since
+    private static synchronized void uninstall() {
+        if (usagePools == null) return;
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(listener);
+        } catch (ListenerNotFoundException e) {
+            // sudah dilepas
+        }
+        for (int i = 0; i < usagePools.size(); i++) {
+            MemoryPoolMXBean pool = usagePools.get(i);
+            if (pool.getUsageThreshold() == usageSet[i]) pool.setUsageThreshold(0);
+        }
+        for (int i = 0; i < collectionPools.size(); i++) {
+            MemoryPoolMXBean pool = collectionPools.get(i);
+            if (pool.getCollectionUsageThreshold() == collectionSet[i]) pool.setCollectionUsageThreshold(0);
+        }
+        usagePools = null;
+        collectionPools = null;
+        usageSet = null;
+        collectionSet = null;
+        seenCounts = null;
+        listener = null;
+    }
+
+    private static boolean owns(List<MemoryPoolMXBean> pools, String name) {
+        for (MemoryPoolMXBean p : pools) if (p.getName().equals(name)) return true;
+        return false;
+    }
+
+    /** Starts tracking {@code p}; it counts as used in the current epoch. */
+    void track(HeavyPayload p) {
+        p.markUsed();
+        tracked.add(new WeakReference<>(p));
+    }
+
+    /**
+     * Synchronous check for callers that are about to add memory: sweeps when any pool crossed its
+     * collection threshold after a GC since the last check. Notifications arrive on another thread and
+     * can lag behind a fast allocation burst.
+     */
+    static void poll() {
+        boolean crossed = false;
+        synchronized (PayloadRetention.class) {
+            List<MemoryPoolMXBean> ps = collectionPools;
+            if (ps == null) return;
+            for (int i = 0; i < ps.size(); i++) {
+                long c = ps.get(i).getCollectionUsageThresholdCount();
+                if (c != seenCounts[i]) {
+                    seenCounts[i] = c;
+                    crossed = true;
+                }
+            }
+        }
+        if (crossed) sweep();
+    }
+
+    /** Downgrades every tracked payload, in every registry, not used since the previous sweep. */
+    static synchronized int sweep() {
+        int current = epoch;
+        int downgraded = 0;
+        for (Iterator<WeakReference<PayloadRetention>> it = INSTANCES.iterator(); it.hasNext(); ) {
+            PayloadRetention r = it.next().get();
+            if (r == null) {
+                it.remove();
+            } else {
+                downgraded += r.sweep(current);
+            }
+        }
+        // Semua registry yang memakai retensi sudah hilang: kembalikan threshold
+        if (INSTANCES.isEmpty()) uninstall();
+        epoch = current + 1;
+        SWEEPS.increment();
+        DOWNGRADES.add(downgraded);
+        return downgraded;
+    }
+
+    private int sweep(int current) {
+        int downgraded = 0;
+        for (Iterator<WeakReference<HeavyPayload>> it = tracked.iterator(); it.hasNext(); ) {
+            HeavyPayload p = it.next().get();
+            if (p == null) {
+                it.remove();
+            } else if (p.lastEpoch() != current && p.downgrade()) {
+                downgraded++;
+            }
+        }
+        return downgraded;
+    }
+
+    static void regenerated() {
+        REGENERATIONS.increment();
+    }
+
+    static void revived() {
+        REVIVED.increment();
+    }
+
+    public static long downgrades() {
+        return DOWNGRADES.sum();
+    }
+
+    public static long regenerations() {
+        return REGENERATIONS.sum();
+    }
+
+    public static String stats() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("retention: %d sweeps, %d downgraded, %d regenerated, %d revived before GC",
+                SWEEPS.sum(), DOWNGRADES.sum(), REGENERATIONS.sum(), REVIVED.sum()));
+        List<MemoryPoolMXBean> ps = new ArrayList<>();
+        synchronized (PayloadRetention.class) {
+            if (usagePools != null) ps.addAll(usagePools);
+            if (collectionPools != null) {
+                for (MemoryPoolMXBean p : collectionPools) if (!ps.contains(p)) ps.add(p);
+            }
+        }
+        if (!ps.isEmpty()) {
+            for (MemoryPoolMXBean p : ps) {
+                MemoryUsage u = p.getUsage();
+                sb.append(String.format("%n  %-20s used %.1f / max %.1f MB", p.getName(), u.getUsed() / 1048576.0, u.getMax() / 1048576.0));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,219 @@
+package Main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles a generated usage sample with {@link JavaCompiler} entirely in memory, loads it in an
+ * isolated class loader and runs its {@code main}.
+ *
+ * <p>The source comes from {@link UsageSourceGenerator} through a {@link StringWriter} and the class
+ * files are kept in byte arrays, so nothing touches the disk. {@link Main.Car} and {@link Main.CarRegist}
+ * are resolved against the location this class was loaded from and, at run time, through the parent
+ * loader, so the sample runs against the same classes as the rest of the experiment.
+ */
+public class SampleCompiler {
+
+    /** Measurements for one compiled sample. */
+    public static class Result {
+        public final String className;
+        public final long javacNanos;
+        public final long bytecodeBytes;
+        public final int classes;
+        public final long loadNanos;
+        public final long execNanos;
+
+        Result(String className, long javacNanos, long bytecodeBytes, int classes, long loadNanos, long execNanos) {
+            this.className = className;
+            this.javacNanos = javacNanos;
+            this.bytecodeBytes = bytecodeBytes;
+            this.classes = classes;
+            this.loadNanos = loadNanos;
+            this.execNanos = execNanos;
+        }
+    }
+
+    private final JavaCompiler compiler;
+    private final StandardJavaFileManager standard;
+    private final List<String> options = new ArrayList<>();
+
+    private SampleCompiler(JavaCompiler compiler) {
+        this.compiler = compiler;
+        this.standard = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        options.add("-classpath");
+        options.add(classpathOf(Car.class));
+        options.add("-proc:none");
+    }
+
+    /** The system compiler, or {@code null} when running on a JRE without {@code java.compiler}. */
+    public static SampleCompiler create() {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        return javac == null ? null : new SampleCompiler(javac);
+    }
+
+    /**
+     * Compiles, loads and runs one sample. {@code source} writes the whole compilation unit for
+     * {@code Main.generated.<simpleName>}.
+     */
+    public Result compileAndRun(String simpleName, SourceWriter source) throws Exception {
+        StringWriter sw = new StringWriter();
+        source.write(sw);
+        String binaryName = "Main.generated." + simpleName;
+
+        MemoryFileManager fm = new MemoryFileManager(standard);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = List.of(new MemorySource(binaryName, sw.toString()));
+
+        long t0 = System.nanoTime();
+        boolean ok = compiler.getTask(null, fm, diagnostics, options, null, units).call();
+        long javacNanos = System.nanoTime() - t0;
+        if (!ok) {
+            StringBuilder sb = new StringBuilder("javac failed for " + binaryName);
+            for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                if (d.getKind() == Diagnostic.Kind.ERROR) sb.append('\n').append(d.getMessage(null));
+            }
+            throw new IllegalStateException(sb.toString());
+        }
+
+        long bytes = 0;
+        for (byte[] b : fm.classes.values()) bytes += b.length;
+
+        MemoryClassLoader loader = new MemoryClassLoader(fm.classes, SampleCompiler.class.getClassLoader());
+        // Main is not exported by GSLC_Paper; open it to the sample's unnamed module only
+        Car.class.getModule().addExports("Main", loader.getUnnamedModule());
+
+        // Define, verify and initialize every class up front so the run below measures execution only
+        long t1 = System.nanoTime();
+        Class<?> main = null;
+        for (String name : fm.classes.keySet()) {
+            Class<?> c = Class.forName(name, true, loader);
+            if (name.equals(binaryName)) main = c;
+        }
+        Method m = main.getMethod("main", String[].class);
+        long loadNanos = System.nanoTime() - t1;
+
+        long t2 = System.nanoTime();
+        m.invoke(null, (Object) new String[0]);
+        long execNanos = System.nanoTime() - t2;
+
+        return new Result(binaryName, javacNanos, bytes, fm.classes.size(), loadNanos, execNanos);
+    }
+
+    /** Writes a compilation unit; matches the {@code UsageSourceGenerator.write*Source} methods. */
+    public interface SourceWriter {
+        void write(Writer w) throws IOException;
+    }
+
+    private static String classpathOf(Class<?> c) {
+        try {
+            return Path.of(c.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (Exception e) {
+            return System.getProperty("java.class.path");
+        }
+    }
+
+    private static class MemorySource extends SimpleJavaFileObject {
+        private final String code;
+
+        MemorySource(String binaryName, String code) {
+            super(URI.create("string:///" + binaryName.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class MemoryClass extends SimpleJavaFileObject {
+        private final String binaryName;
+        private final Map<String, byte[]> sink;
+
+        MemoryClass(String binaryName, Map<String, byte[]> sink) {
+            super(URI.create("mem:///" + binaryName.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.binaryName = binaryName;
+            this.sink = sink;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    sink.put(binaryName, toByteArray());
+                }
+            };
+        }
+    }
+
+    private static class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+
+        MemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            if (location == StandardLocation.CLASS_OUTPUT && kind == JavaFileObject.Kind.CLASS) {
+                return new MemoryClass(className, classes);
+            }
+            throw new UnsupportedOperationException("unexpected output " + location + " " + className);
+        }
+    }
+
+    /**
+     * Child-first for the compiled classes: the committed {@code Main.generated} samples are also part
+     * of the module, and the freshly compiled bytes must win over them.
+     */
+    private static class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        MemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super("sample", parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null && classes.containsKey(name)) c = findClass(name);
+                if (c == null) return super.loadClass(name, resolve);
+                if (resolve) resolveClass(c);
+                return c;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] b = classes.get(name);
+            if (b == null) throw new ClassNotFoundException(name);
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package Main;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the {@code PrototypeUsage_*} / {@code ConstructorUsage_*} samples used by {@link ModularityLOC}.
+ *
+ * <p>Sources are streamed to a {@link Writer}, so even N = 100,000 never exists as one string in memory.
+ * Small samples are emitted inline in {@code main} exactly as before. Once a sample has more than
+ * {@link #STATEMENT_BUDGET} statements, the object creation is split into nested {@code PartK} classes:
+ * each part gets its own method (bytecode stays well below the 64 KB method limit and the 65,535
+ * local slots) and its own constant pool (the {@code + i} constants would overflow a single one).
+ */
+public class UsageSourceGenerator {
+
+    /** Max statements per generated method; ~25 bytes of bytecode each keeps a part around 50 KB. */
+    public static final int STATEMENT_BUDGET = 2_000;
+
+    /** Shape of the generated samples. */
+    public static class Variant {
+        public final int extraFields;
+        public final int prototypes;
+
+        public Variant(int extraFields, int prototypes) {
+            this.extraFields = Math.max(0, extraFields);
+            this.prototypes = Math.max(1, prototypes);
+        }
+
+        /** The original samples: 12 setter lines per constructed object, one prototype. */
+        public static Variant defaults() {
+            return new Variant(12, 1);
+        }
+
+        public boolean isDefault() {
+            return extraFields == 12 && prototypes == 1;
+        }
+
+        /** Suffix for class and file names; empty for the default variant so existing names stay. */
+        public String suffix() {
+            return isDefault() ? "" : "_f" + extraFields + "_p" + prototypes;
+        }
+
+        @Override
+        public String toString() {
+            return "fields=" + extraFields + ", prototypes=" + prototypes;
+        }
+    }
+
+    public static String prototypeClassName(int n, Variant v) {
+        return "PrototypeUsage_" + n + v.suffix();
+    }
+
+    public static String constructorClassName(int n, Variant v) {
+        return "ConstructorUsage_" + n + v.suffix();
+    }
+
+    public static void writePrototypeSource(Writer w, String className, int n, Variant v) throws IOException {
+        w.write("package Main.generated;\n\n");
+        w.write("import Main.Car;\n");
+        w.write("import Main.CarRegist;\n\n");
+        w.write("public class " + className + " {\n");
+        w.write("    public static void main(String[] args) {\n");
+        w.write("        // create base and registry (simplified)\n");
+        w.write("        Car base = new Car(\"Make\", \"Model\", \"Color\", 2025, java.util.Arrays.asList(\"F\"));\n");
+        w.write("        CarRegist registry = new CarRegist();\n");
+        if (v.prototypes == 1) {
+            w.write("        registry.addPrototype(\"key\", base);\n\n");
+        } else {
+            w.write("        registry.addPrototype(\"key0\", base);\n");
+            for (int p = 1; p < v.prototypes; p++) {
+                w.write("        registry.addPrototype(\"key" + p + "\", new Car(\"Make\", \"Model\", \"Color" + p
+                        + "\", 2025, java.util.Arrays.asList(\"F\")));\n");
+            }
+            w.write("\n");
+        }
+
+        int perPart = Math.max(1, STATEMENT_BUDGET / 2);
+        if (n <= perPart) {
+            writePrototypeObjects(w, 0, n, v, "        ");
+            w.write("    }\n");
+        } else {
+            int parts = (n + perPart - 1) / perPart;
+            for (int k = 0; k < parts; k++) w.write("        Part" + k + ".run(registry);\n");
+            w.write("    }\n");
+            for (int k = 0; k < parts; k++) {
+                w.write("\n    static class Part" + k + " {\n");
+                w.write("        static void run(CarRegist registry) {\n");
+                writePrototypeObjects(w, k * perPart, Math.min(n, (k + 1) * perPart), v, "            ");
+                w.write("        }\n");
+                w.write("    }\n");
+            }
+        }
+        w.write("}\n");
+    }
+
+    public static void writeConstructorSource(Writer w, String className, int n, Variant v) throws IOException {
+        // Simulate an object with many fields and verbose per-instance setup to show LOC cost
+        w.write("package Main.generated;\n\n");
+        w.write("import Main.Car;\n\n");
+        w.write("public class " + className + " {\n");
+        w.write("    public static void main(String[] args) {\n");
+        w.write("        // create base (simplified)\n");
+        w.write("        Car base = new Car(\"Make\", \"Model\", \"Color\", 2025, java.util.Arrays.asList(\"F\"));\n");
+        for (int p = 1; p < v.prototypes; p++) {
+            w.write("        Car base" + p + " = new Car(\"Make\", \"Model\", \"Color" + p
+                    + "\", 2025, java.util.Arrays.asList(\"F\"));\n");
+        }
+        w.write("\n");
+
+        int perPart = Math.max(1, STATEMENT_BUDGET / (1 + v.extraFields));
+        if (n <= perPart) {
+            writeConstructorObjects(w, 0, n, v, "        ", false);
+            w.write("    }\n");
+        } else {
+            if (v.prototypes > 1) {
+                w.write("        Car[] bases = { base");
+                for (int p = 1; p < v.prototypes; p++) w.write(", base" + p);
+                w.write(" };\n");
+            } else {
+                w.write("        Car[] bases = { base };\n");
+            }
+            int parts = (n + perPart - 1) / perPart;
+            for (int k = 0; k < parts; k++) w.write("        Part" + k + ".run(bases);\n");
+            w.write("    }\n");
+            for (int k = 0; k < parts; k++) {
+                w.write("\n    static class Part" + k + " {\n");
+                w.write("        static void run(Car[] bases) {\n");
+                writeConstructorObjects(w, k * perPart, Math.min(n, (k + 1) * perPart), v, "            ", true);
+                w.write("        }\n");
+                w.write("    }\n");
+            }
+        }
+        w.write("}\n");
+    }
+
+    private static void writePrototypeObjects(Writer w, int from, int to, Variant v, String indent) throws IOException {
+        for (int i = from; i < to; i++) {
+            String key = v.prototypes == 1 ? "key" : "key" + (i % v.prototypes);
+            String c = Integer.toString(i);
+            w.append(indent).append("Car c").append(c).append(" = registry.getClone(\"").append(key).append("\");\n");
+            w.append(indent).append('c').append(c).append(".setColor(c").append(c).append(".getColor() + \"#\" + ").append(c).append(");\n");
+        }
+    }
+
+    private static void writeConstructorObjects(Writer w, int from, int to, Variant v, String indent, boolean array) throws IOException {
+        String[] fieldTails = new String[v.extraFields];
+        for (int f = 0; f < fieldTails.length; f++) fieldTails[f] = ".getColor() + \"#f" + f + "\" );\n";
+        for (int i = from; i < to; i++) {
+            int p = i % v.prototypes;
+            String base = array ? "bases[" + p + "]" : (p == 0 ? "base" : "base" + p);
+            String c = Integer.toString(i);
+            w.append(indent).append("Car c").append(c).append(" = new Car(").append(base).append(");\n");
+            // add many setter lines to simulate many fields being tweaked per instance
+            for (String tail : fieldTails) {
+                w.append(indent).append('c').append(c).append(".setColor(c").append(c).append(tail);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package RunExperiments;
+
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.style.markers.None;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Tahap rendering chart yang terpisah dari pengukuran.
+  - Input berupa Dataset (judul, label sumbu, series x/y) dan path output tanpa ekstensi.
+  - Semua chart dibangun dan disimpan paralel pada thread pool terbatas, dalam mode headless
+    (tanpa SwingWrapper), sehingga aman di lingkungan batch.
+  - Series yang besar di-downsample dengan LTTB sebelum diberikan ke xchart agar waktu render
+    tetap datar walau jumlah titik bertambah.
+  - Format: PNG dan JPEG (bawaan xchart). SVG ditolak saat konfigurasi dibaca: xchart butuh jar
+    VectorGraphics2D untuk SVG dan jar itu tidak ada di lib/.
+*/
+
+public class ChartRenderer {
+
+    public enum Format { PNG, JPEG;
+
+        public static Format parse(String s) {
+            String v = s.trim().toUpperCase(Locale.ROOT);
+            if (v.equals("JPG")) return JPEG;
+            if (v.equals("SVG")) {
+                throw new IllegalArgumentException("Chart format svg is not supported: xchart needs the VectorGraphics2D jar,"
+                        + " which is not in lib/; use png or jpeg");
+            }
+            try {
+                return valueOf(v);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown chart format: " + s.trim() + " (expected png or jpeg)");
+            }
+        }
+    }
+
+    /** Data for one XY chart; the chart itself is built on the rendering thread. */
+    public static class Dataset {
+        final String title;
+        final String xAxisTitle;
+        final String yAxisTitle;
+        final Map<String, double[][]> series = new LinkedHashMap<>();
+        int width = 800;
+        int height = 600;
+        boolean markers = false;
+        Function<Double, String> xTickFormatter;
+
+        public Dataset(String title, String xAxisTitle, String yAxisTitle) {
+            this.title = title;
+            this.xAxisTitle = xAxisTitle;
+            this.yAxisTitle = yAxisTitle;
+        }
+
+        public Dataset series(String name, double[] x, double[] y) {
+            series.put(name, new double[][] { x, y });
+            return this;
+        }
+
+        public Dataset size(int width, int height) {
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        public Dataset markers(boolean markers) {
+            this.markers = markers;
+            return this;
+        }
+
+        public Dataset xTickFormatter(Function<Double, String> formatter) {
+            this.xTickFormatter = formatter;
+            return this;
+        }
+
+        boolean isEmpty() {
+            return series.isEmpty();
+        }
+    }
+
+    private final int threads;
+    private final int maxPointsPerSeries;
+    private final List<Format> formats;
+
+    static {
+        // Render tanpa display; harus di-set sebelum AWT diinisialisasi. Hormati nilai eksplisit dari -D.
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+    }
+
+    public ChartRenderer(int threads, int maxPointsPerSeries, List<Format> formats) {
+        this.threads = Math.max(1, threads);
+        this.maxPointsPerSeries = maxPointsPerSeries;
+        this.formats = formats;
+    }
+
+    public static ChartRenderer defaults() {
+        return new ChartRenderer(Runtime.getRuntime().availableProcessors(), 2_000, List.of(Format.PNG));
+    }
+
+    /**
+     * Builds and saves every dataset concurrently; {@code outputs.get(i)} is the path of
+     * {@code datasets.get(i)} without extension. Returns the built charts in the same order.
+     */
+    public List<XYChart> render(List<Dataset> datasets, List<Path> outputs) {
+        if (datasets.size() != outputs.size()) throw new IllegalArgumentException("datasets and outputs differ in size");
+        List<XYChart> charts = new ArrayList<>(datasets.size());
+        if (datasets.isEmpty()) return charts;
+
+        long t0 = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, datasets.size()));
+        try {
+            List<Future<XYChart>> futures = new ArrayList<>(datasets.size());
+            for (int i = 0; i < datasets.size(); i++) {
+                Dataset d = datasets.get(i);
+                Path out = outputs.get(i);
+                futures.add(pool.submit(() -> {
+                    XYChart chart = build(d);
+                    save(chart, out);
+                    return chart;
+                }));
+            }
+            for (Future<XYChart> f : futures) charts.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chart rendering interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Chart rendering failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("Rendered %d chart(s) x %d format(s) in %.1f ms%n",
+                datasets.size(), formats.size(), (System.nanoTime() - t0) / 1_000_000.0);
+        return charts;
+    }
+
+    XYChart build(Dataset d) {
+        XYChart chart = new XYChartBuilder()
+                .width(d.width).height(d.height)
+                .title(d.title)
+                .xAxisTitle(d.xAxisTitle)
+                .yAxisTitle(d.yAxisTitle)
+                .build();
+        chart.getStyler().setLegendVisible(true);
+        chart.getStyler().setMarkerSize(6);
+        chart.getStyler().setDecimalPattern("#,###.##");
+        if (d.xTickFormatter != null) chart.setCustomXAxisTickLabelsFormatter(d.xTickFormatter);
+
+        for (Map.Entry<String, double[][]> s : d.series.entrySet()) {
+            double[][] xy = lttb(s.getValue()[0], s.getValue()[1], maxPointsPerSeries);
+            var series = chart.addSeries(s.getKey(), xy[0], xy[1]);
+            if (!d.markers) series.setMarker(new None());
+        }
+        return chart;
+    }
+
+    private void save(XYChart chart, Path base) throws IOException {
+        Path dir = base.getParent();
+        if (dir != null) Files.createDirectories(dir);
+        for (Format f : formats) {
+            switch (f) {
+                case PNG:
+                    BitmapEncoder.saveBitmap(chart, base.toString(), BitmapEncoder.BitmapFormat.PNG);
+                    break;
+                case JPEG:
+                    BitmapEncoder.saveJPGWithQuality(chart, base + ".jpg", 0.95f);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets downsampling. Keeps the first and last point and, per bucket,
+     * the point forming the largest triangle with the previously kept point and the next bucket's mean.
+     * Returns the input unchanged when it already has at most {@code threshold} points.
+     */
+    static double[][] lttb(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold < 3 || n <= threshold) return new double[][] { x, y };
+
+        double[] sx = new double[threshold];
+        double[] sy = new double[threshold];
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        sx[0] = x[0];
+        sy[0] = y[0];
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // rata-rata bucket berikutnya
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0, avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int len = Math.max(1, avgEnd - avgStart);
+            avgX /= len;
+            avgY /= len;
+
+            int start = (int) Math.floor(i * every) + 1;
+            int end = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            sx[i + 1] = x[chosen];
+            sy[i + 1] = y[chosen];
+            a = chosen;
+        }
+
+        sx[threshold - 1] = x[n - 1];
+        sy[threshold - 1] = y[n - 1];
+        return new double[][] { sx, sy };
+    }
+}
@@ -0,0 +1,304 @@
+package RunExperiments;
+
+import Main.Car;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Load generator closed-loop untuk CloneService. Untuk setiap backend (prototype, constructor), ukuran batch,
+ dan tingkat concurrency C: C client (virtual thread) masing-masing mengirim request, menunggu jawaban,
+ lalu langsung mengirim berikutnya. Setelah fase pemanasan, latensi setiap request dicatat; dilaporkan
+ throughput (clone/detik) dan persentil latensi p50/p90/p99/p99.9/max.
+ Service dijalankan di proses yang sama pada port bebas (satu service per backend, semuanya hidup
+ bersamaan), atau pakai url=http://host:port untuk menguji service yang sudah berjalan.
+ Sebelum pengukuran apa pun, setiap backend dipanaskan sekali per ukuran batch pada concurrency
+ terbesar; urutan backend lalu diputar per konfigurasi supaya tidak ada bias urutan.
+ Hasil: charts/clone_service.csv dan chart throughput/p99 vs concurrency.
+
+ Contoh:
+   java -p bin:lib -m GSLC_Paper/RunExperiments.CloneLoadTest concurrency=1,4,16,64 batch=1,16 seconds=5 heavy=100000
+*/
+
+public class CloneLoadTest {
+
+    private static final String[] KEYS = { "sedan", "suv", "ev" };
+
+    private static class Result {
+        final String backend;
+        final int batch;
+        final int concurrency;
+        final long requests;
+        final long clones;
+        final long errors;
+        final double seconds;
+        final long[] latencies;
+
+        Result(String backend, int batch, int concurrency, long requests, long clones, long errors, double seconds, long[] latencies) {
+            this.backend = backend;
+            this.batch = batch;
+            this.concurrency = concurrency;
+            this.requests = requests;
+            this.clones = clones;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.latencies = latencies;
+        }
+
+        double throughput() {
+            return clones / seconds;
+        }
+
+        // Latensi (ms) pada persentil p dari array yang sudah diurutkan
+        double percentileMs(double p) {
+            if (latencies.length == 0) return 0;
+            int idx = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, idx)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-11s batch=%-3d C=%-4d %9.0f clones/s  p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f ms  (%d requests, %d errors)",
+                    backend, batch, concurrency, throughput(), percentileMs(0.50), percentileMs(0.90), percentileMs(0.99),
+                    percentileMs(0.999), percentileMs(1.0), requests, errors);
+        }
+    }
+
+    // Satu client closed-loop; latensi disimpan di array yang tumbuh sendiri
+    private static class Client {
+        long[] latencies = new long[1024];
+        int count;
+        long requests;
+        long errors;
+        // Selesainya request terakhir yang dihitung; bisa melewati akhir jendela pengukuran
+        long lastDone;
+
+        void record(long nanos) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrency = { 1, 2, 4, 8, 16, 32, 64 };
+        int[] batches = { 1, 16 };
+        List<Strategy> backends = List.of(Strategy.PROTOTYPE, Strategy.CONSTRUCTOR);
+        double seconds = 3;
+        double warmupSeconds = 1;
+        String url = null;
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "concurrency": concurrency = ints(v); break;
+                case "batch": batches = ints(v); break;
+                case "backends": backends = strategies(v); break;
+                case "seconds": seconds = Double.parseDouble(v); break;
+                case "warmup": warmupSeconds = Double.parseDouble(v); break;
+                case "heavy": Car.setHeavyDataSize(Integer.parseInt(v.replace("_", ""))); break;
+                case "url": url = v; break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<Result> results = new ArrayList<>();
+
+        if (url != null) {
+            for (int b : batches) {
+                for (int c : concurrency) {
+                    Result r = run(client, URI.create(url), "remote", b, c, warmupSeconds, seconds);
+                    System.out.println(r);
+                    results.add(r);
+                }
+            }
+        } else {
+            // Semua backend hidup bersamaan di JVM yang sama; pemanasan JVM (HttpServer, HttpClient, JIT)
+            // untuk semua backend dulu, baru pengukuran, supaya backend pertama tidak menanggungnya sendiri
+            List<CloneService> services = new ArrayList<>();
+            try {
+                List<URI> bases = new ArrayList<>();
+                for (Strategy s : backends) {
+                    CloneService service = new CloneService(s, 0, CloneService.defaultBases()).start();
+                    services.add(service);
+                    bases.add(URI.create("http://127.0.0.1:" + service.port()));
+                }
+                int maxC = Arrays.stream(concurrency).max().orElse(1);
+                for (int b : batches) {
+                    for (int i = 0; i < backends.size(); i++) {
+                        Result w = run(client, bases.get(i), backends.get(i).label(), b, maxC, 0, warmupSeconds);
+                        System.out.printf("warm-up %s batch=%d C=%d: %.0f clones/s%n", w.backend, b, maxC, w.throughput());
+                    }
+                }
+                // Urutan backend diputar per konfigurasi, jadi tidak ada backend yang selalu diukur lebih dulu
+                int config = 0;
+                for (int b : batches) {
+                    for (int c : concurrency) {
+                        for (int k = 0; k < backends.size(); k++) {
+                            int i = (config + k) % backends.size();
+                            Result r = run(client, bases.get(i), backends.get(i).label(), b, c, warmupSeconds, seconds);
+                            System.out.println(r);
+                            results.add(r);
+                        }
+                        config++;
+                    }
+                }
+            } finally {
+                for (CloneService service : services) service.close();
+            }
+            List<Strategy> order = backends;
+            results.sort(Comparator.comparingInt((Result r) -> order.indexOf(Strategy.parse(r.backend)))
+                    .thenComparingInt(r -> r.batch).thenComparingInt(r -> r.concurrency));
+        }
+
+        Path chartsDir = Path.of(System.getProperty("user.dir"), "charts");
+        Files.createDirectories(chartsDir);
+        writeCsv(chartsDir.resolve("clone_service.csv"), results);
+        saveCharts(chartsDir, results, concurrency, batches);
+    }
+
+    private static Result run(HttpClient http, URI base, String backend, int batch, int concurrency,
+                              double warmupSeconds, double seconds) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + (long) (warmupSeconds * 1e9);
+        long end = measureFrom + (long) (seconds * 1e9);
+
+        Client[] clients = new Client[concurrency];
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Client c = clients[i] = new Client();
+                int id = i;
+                futures.add(threads.submit(() -> {
+                    loop(http, base, batch, id, c, measureFrom, end);
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        long requests = 0, errors = 0;
+        long lastDone = measureFrom;
+        int total = 0;
+        for (Client c : clients) {
+            requests += c.requests;
+            errors += c.errors;
+            total += c.count;
+            lastDone = Math.max(lastDone, c.lastDone);
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (Client c : clients) {
+            System.arraycopy(c.latencies, 0, all, pos, c.count);
+            pos += c.count;
+        }
+        Arrays.sort(all);
+        long clones = (requests - errors) * batch;
+        // Request yang dimulai sebelum 'end' tetap dihitung walau selesai sesudahnya, jadi bagi dengan
+        // waktu sampai request terakhir selesai, bukan dengan panjang jendela nominal
+        double elapsed = Math.max(lastDone - measureFrom, 1) / 1e9;
+        return new Result(backend, batch, concurrency, requests, clones, errors, elapsed, all);
+    }
+
+    private static void loop(HttpClient http, URI base, int batch, int id, Client c, long measureFrom, long end)
+            throws InterruptedException {
+        long seq = 0;
+        while (true) {
+            long t0 = System.nanoTime();
+            if (t0 >= end) return;
+            HttpRequest request;
+            if (batch == 1) {
+                request = HttpRequest.newBuilder(base.resolve("/clone?" + query(id, seq++))).GET().build();
+            } else {
+                StringBuilder body = new StringBuilder();
+                for (int i = 0; i < batch; i++) body.append(query(id, seq++)).append('\n');
+                request = HttpRequest.newBuilder(base.resolve("/batch"))
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build();
+            }
+            boolean ok;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            }
+            long t1 = System.nanoTime();
+            // Hanya request yang dimulai setelah pemanasan yang dihitung
+            if (t0 >= measureFrom) {
+                c.lastDone = t1;
+                c.requests++;
+                if (ok) c.record(t1 - t0);
+                else c.errors++;
+            }
+        }
+    }
+
+    private static String query(int client, long seq) {
+        return "key=" + KEYS[(int) (seq % KEYS.length)] + "&color=c" + client + "-" + seq;
+    }
+
+    private static void writeCsv(Path out, List<Result> results) throws IOException {
+        StringBuilder sb = new StringBuilder("backend,batch,concurrency,requests,clones,errors,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+        for (Result r : results) {
+            sb.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n", r.backend, r.batch, r.concurrency,
+                    r.requests, r.clones, r.errors, r.throughput(), r.percentileMs(0.50), r.percentileMs(0.90),
+                    r.percentileMs(0.99), r.percentileMs(0.999), r.percentileMs(1.0)));
+        }
+        Files.writeString(out, sb.toString());
+        System.out.println("Results saved to " + out);
+    }
+
+    private static void saveCharts(Path chartsDir, List<Result> results, int[] concurrency, int[] batches) {
+        ChartRenderer.Dataset tput = new ChartRenderer.Dataset("Clone service throughput vs concurrency",
+                "Concurrent clients", "Clones per second");
+        ChartRenderer.Dataset p99 = new ChartRenderer.Dataset("Clone service p99 latency vs concurrency",
+                "Concurrent clients", "p99 latency (ms)");
+        List<String> seen = new ArrayList<>();
+        for (Result r : results) {
+            String series = r.backend + (batches.length > 1 ? " (batch " + r.batch + ")" : "");
+            if (seen.contains(series)) continue;
+            seen.add(series);
+            List<Result> rs = new ArrayList<>();
+            for (Result x : results) if (x.backend.equals(r.backend) && x.batch == r.batch) rs.add(x);
+            double[] x = new double[rs.size()];
+            double[] t = new double[rs.size()];
+            double[] p = new double[rs.size()];
+            for (int i = 0; i < rs.size(); i++) {
+                x[i] = rs.get(i).concurrency;
+                t[i] = rs.get(i).throughput();
+                p[i] = rs.get(i).percentileMs(0.99);
+            }
+            tput.series(series, x, t);
+            p99.series(series, x, p);
+        }
+        ChartRenderer.defaults().render(List.of(tput, p99),
+                List.of(chartsDir.resolve("clone_service_throughput"), chartsDir.resolve("clone_service_p99")));
+    }
+
+    private static int[] ints(String v) {
+        return Arrays.stream(v.split(",")).map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static List<Strategy> strategies(String v) {
+        List<Strategy> list = new ArrayList<>();
+        for (String s : v.split(",")) if (!s.isBlank()) list.add(Strategy.parse(s));
+        return list;
+    }
+}
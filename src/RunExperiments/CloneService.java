@@ -0,0 +1,222 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarRegist;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Service HTTP kecil di localhost yang melayani permintaan "clone key K dengan override".
+  - GET  /clone?key=K&color=..&year=..&make=..&model=..&features=a;b   -> satu baris Car.toString()
+  - POST /batch  (body: satu query string per baris)                   -> satu baris hasil per permintaan
+  - GET  /stats                                                         -> jumlah request, clone, dan error
+ Key yang tidak dikenal -> 404, input salah (mis. year bukan angka) -> 400. Di /batch setiap baris yang
+ gagal ditulis sebagai "ERROR <status> <pesan>", jumlahnya dikirim di header X-Failed-Lines, dan status
+ respons 400 bila ada baris yang gagal.
+ Backend dipilih lewat Strategy: PROTOTYPE memakai CarRegist.getClone, CONSTRUCTOR memakai new Car(base).
+ Setiap request dilayani oleh satu virtual thread (JDK HttpServer + newVirtualThreadPerTaskExecutor).
+ Registry diisi sebelum server start dan setelah itu hanya di-clone, jadi CarRegist aman dipakai
+ bersamaan oleh banyak virtual thread.
+
+ Contoh: java -p bin:lib -m GSLC_Paper/RunExperiments.CloneService backend=prototype port=8080 heavy=1000000
+ Beban: lihat CloneLoadTest.
+*/
+
+public class CloneService implements AutoCloseable {
+
+    static {
+        // Header dan body dikirim dengan dua write; tanpa TCP_NODELAY, Nagle + delayed ACK menambah ~40 ms
+        // pada setiap respons kecil. Harus di-set sebelum HttpServer pertama dibuat; hormati nilai dari -D.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final Strategy backend;
+    private final CarRegist registry = new CarRegist();
+    private final Map<String, Car> bases;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder clones = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /** Binds to {@code port} on the loopback address; 0 picks a free port. Call {@link #start()} next. */
+    public CloneService(Strategy backend, int port, Map<String, Car> bases) throws IOException {
+        this.backend = backend;
+        this.bases = new HashMap<>(bases);
+        for (Map.Entry<String, Car> e : this.bases.entrySet()) registry.addPrototype(e.getKey(), e.getValue());
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/clone", this::handleClone);
+        server.createContext("/batch", this::handleBatch);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public CloneService start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public Strategy backend() {
+        return backend;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Strategy backend = Strategy.PROTOTYPE;
+        int port = 8080;
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "backend": backend = Strategy.parse(v); break;
+                case "port": port = Integer.parseInt(v); break;
+                case "heavy": Car.setHeavyDataSize(Integer.parseInt(v.replace("_", ""))); break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
+        CloneService service = new CloneService(backend, port, defaultBases()).start();
+        System.out.println("Clone service (" + backend.label() + ") listening on http://127.0.0.1:" + service.port()
+                + "/clone?key=" + String.join("|", service.bases.keySet()));
+        Runtime.getRuntime().addShutdownHook(new Thread(service::close));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Serves one clone request given as a query string; returns the response line.
+     *
+     * @throws NoSuchElementException for a missing or unknown key (404)
+     * @throws IllegalArgumentException for malformed input such as a non-numeric year (400)
+     */
+    String cloneOne(String query) {
+        Map<String, String> q = parseQuery(query);
+        String key = q.get("key");
+        Car base = key == null ? null : bases.get(key);
+        if (base == null) throw new NoSuchElementException("unknown key: " + key);
+
+        Car c = backend.create(registry, key, base);
+        String v;
+        if ((v = q.get("color")) != null) c.setColor(v);
+        if ((v = q.get("year")) != null) {
+            try {
+                c.setYear(Integer.parseInt(v.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("year is not a number: " + v);
+            }
+        }
+        if ((v = q.get("make")) != null) c.setMake(v);
+        if ((v = q.get("model")) != null) c.setModel(v);
+        if ((v = q.get("features")) != null) c.setFeatures(Arrays.asList(v.split(";")));
+        clones.increment();
+        return c.toString();
+    }
+
+    private void handleClone(HttpExchange ex) throws IOException {
+        requests.increment();
+        String line;
+        int status = 200;
+        try {
+            line = cloneOne(ex.getRequestURI().getRawQuery());
+        } catch (RuntimeException e) {
+            status = statusOf(e);
+            line = e.getMessage();
+            errors.increment();
+        }
+        respond(ex, status, line + "\n");
+    }
+
+    // Batching: banyak permintaan clone dalam satu round-trip HTTP
+    private void handleBatch(HttpExchange ex) throws IOException {
+        requests.increment();
+        String body;
+        try (InputStream in = ex.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder();
+        int failed = 0;
+        for (String line : body.split("\n")) {
+            if (line.isBlank()) continue;
+            try {
+                sb.append(cloneOne(line.trim()));
+            } catch (RuntimeException e) {
+                sb.append("ERROR ").append(statusOf(e)).append(' ').append(e.getMessage());
+                failed++;
+            }
+            sb.append('\n');
+        }
+        if (failed > 0) errors.add(failed);
+        ex.getResponseHeaders().set("X-Failed-Lines", Integer.toString(failed));
+        respond(ex, failed == 0 ? 200 : 400, sb.toString());
+    }
+
+    private void handleStats(HttpExchange ex) throws IOException {
+        respond(ex, 200, "backend=" + backend.label() + " requests=" + requests.sum() + " clones=" + clones.sum()
+                + " errors=" + errors.sum() + "\n");
+    }
+
+    // 404 untuk key yang tidak dikenal, 400 untuk input yang salah; error lain tetap dilempar
+    private static int statusOf(RuntimeException e) {
+        if (e instanceof NoSuchElementException) return 404;
+        if (e instanceof IllegalArgumentException) return 400;
+        throw e;
+    }
+
+    private static void respond(HttpExchange ex, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> map = new HashMap<>();
+        if (query == null) return map;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            map.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return map;
+    }
+
+    /** Base cars for keys sedan, suv and ev; built with the current {@code Car.HEAVY_DATA_SIZE}. */
+    static Map<String, Car> defaultBases() {
+        Map<String, Car> m = new LinkedHashMap<>();
+        m.put("sedan", new Car("Toyota", "Camry", "White", 2025, Arrays.asList("AC", "GPS")));
+        m.put("suv", new Car("Honda", "CR-V", "Black", 2025, Arrays.asList("AWD", "AC", "Sunroof")));
+        m.put("ev", new Car("Tesla", "Model 3", "Red", 2025, Arrays.asList("Autopilot", "AC")));
+        return m;
+    }
+}
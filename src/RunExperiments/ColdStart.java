@@ -0,0 +1,230 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarRegist;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Benchmark cold-start untuk job batch berumur pendek. Setiap pengukuran dijalankan di JVM baru:
+  - Parent mem-fork `java` dengan mode `--probe <strategy>` dan mengukur waktu dari start proses
+    sampai child mencetak penanda setelah `getClone` / `new Car` pertama.
+  - Child mencatat uptime JVM saat operasi pertama, latensi K operasi pertama, dan jumlah kelas yang dimuat.
+  - Setiap strategi dijalankan tanpa dan dengan arsip AppCDS (dibuat sekali via -XX:ArchiveClassesAtExit).
+ Hasil (median dari beberapa run) dicetak dan disimpan ke `charts/cold_start.csv`.
+
+ Contoh (AppCDS butuh modul dalam bentuk JAR):
+   jar --create --file mods/gslc.jar -C bin .
+   java -p mods:lib -m GSLC_Paper/RunExperiments.ColdStart --runs 5 --k 100 --heavy 1000000
+*/
+
+public class ColdStart {
+
+    private static final String READY = "READY";
+    private static final String[] STRATEGIES = { "prototype", "constructor" };
+
+    private static class Sample {
+        final double launchToFirstMs;
+        final double uptimeAtFirstMs;
+        final double firstOpUs;
+        final double restMeanUs;
+        final long classesLoaded;
+
+        Sample(double launchToFirstMs, double uptimeAtFirstMs, double firstOpUs, double restMeanUs, long classesLoaded) {
+            this.launchToFirstMs = launchToFirstMs;
+            this.uptimeAtFirstMs = uptimeAtFirstMs;
+            this.firstOpUs = firstOpUs;
+            this.restMeanUs = restMeanUs;
+            this.classesLoaded = classesLoaded;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && args[0].equals("--probe")) {
+            probe(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 100,
+                    args.length > 3 ? Integer.parseInt(args[3]) : Car.HEAVY_DATA_SIZE);
+            return;
+        }
+
+        int runs = 5;
+        int k = 100;
+        int heavy = Car.HEAVY_DATA_SIZE;
+        boolean cds = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs": runs = Integer.parseInt(args[++i]); break;
+                case "--k": k = Integer.parseInt(args[++i]); break;
+                case "--heavy": heavy = Integer.parseInt(args[++i]); break;
+                case "--no-cds": cds = false; break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        // Median dihitung dari K clone per run dan dari semua run, jadi keduanya minimal 1
+        if (k < 1) throw new IllegalArgumentException("--k must be >= 1 but was " + k);
+        if (runs < 1) throw new IllegalArgumentException("--runs must be >= 1 but was " + runs);
+
+        System.out.println("ColdStart: runs=" + runs + ", K=" + k + ", heavyDataSize=" + heavy + " bytes");
+
+        Path archive = null;
+        if (cds) {
+            archive = Files.createTempFile("gslc_cold_start", ".jsa");
+            Files.delete(archive);
+            // Training run: load everything both strategies touch, then dump the archive at exit
+            List<String> train = probeCommand("both", k, heavy, "-XX:ArchiveClassesAtExit=" + archive);
+            Process p = new ProcessBuilder(train).redirectErrorStream(true).start();
+            p.getInputStream().transferTo(java.io.OutputStream.nullOutputStream());
+            if (p.waitFor() != 0 || !Files.exists(archive)) {
+                // CDS hanya menerima JAR di module/class path, bukan direktori seperti bin/
+                System.err.println("AppCDS archive could not be created (module path must contain jars, not directories); continuing without CDS");
+                archive = null;
+            }
+        }
+
+        StringBuilder csv = new StringBuilder();
+        csv.append("Strategy,CDS,LaunchToFirst_ms,UptimeAtFirst_ms,FirstOp_us,RestMean_us,ClassesLoaded\n");
+
+        System.out.printf("%-12s %-4s %16s %16s %12s %14s %8s%n",
+                "strategy", "cds", "launch->1st ms", "uptime@1st ms", "1st op us", "ops 2..K us", "classes");
+        for (String strategy : STRATEGIES) {
+            for (int mode = 0; mode < (archive == null ? 1 : 2); mode++) {
+                boolean withCds = mode == 1;
+                List<Sample> samples = new ArrayList<>(runs);
+                for (int r = 0; r < runs; r++) {
+                    List<String> cmd = withCds
+                            ? probeCommand(strategy, k, heavy, "-XX:SharedArchiveFile=" + archive)
+                            : probeCommand(strategy, k, heavy);
+                    samples.add(runOnce(cmd));
+                }
+                Sample m = median(samples);
+                System.out.printf("%-12s %-4s %16.1f %16.1f %12.1f %14.2f %8d%n",
+                        strategy, withCds ? "on" : "off", m.launchToFirstMs, m.uptimeAtFirstMs,
+                        m.firstOpUs, m.restMeanUs, m.classesLoaded);
+                csv.append(String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%.3f,%.3f,%d%n", strategy, withCds,
+                        m.launchToFirstMs, m.uptimeAtFirstMs, m.firstOpUs, m.restMeanUs, m.classesLoaded));
+            }
+        }
+
+        if (archive != null) Files.deleteIfExists(archive);
+
+        Path out = Path.of(System.getProperty("user.dir"), "charts", "cold_start.csv");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, csv.toString(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        System.out.println("Cold-start results saved to " + out);
+    }
+
+    // Child side: keep everything before the first operation as small as possible so the
+    // measured startup is the JVM plus Car/CarRegist, not the benchmark harness.
+    private static void probe(String strategy, int k, int heavy) {
+        Car.setHeavyDataSize(heavy);
+        boolean both = strategy.equals("both");
+        boolean proto = both || strategy.equals("prototype");
+
+        Car base = new Car("Make", "Model", "Color", 2025, Arrays.asList("F"));
+        CarRegist registry = new CarRegist();
+        registry.addPrototype("key", base);
+
+        long[] lat = new long[k];
+        Car keep = null;
+        long firstAt = 0;
+        for (int i = 0; i < k; i++) {
+            long t0 = System.nanoTime();
+            keep = proto ? registry.getClone("key") : new Car(base);
+            long t1 = System.nanoTime();
+            lat[i] = t1 - t0;
+            if (i == 0) {
+                firstAt = t1;
+                System.out.println(READY);
+                System.out.flush();
+            }
+        }
+        if (both) {
+            for (int i = 0; i < k; i++) keep = new Car(base);
+        }
+
+        long now = System.nanoTime();
+        double uptimeAtFirstMs = ManagementFactory.getRuntimeMXBean().getUptime() - (now - firstAt) / 1_000_000.0;
+        long classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        long rest = 0;
+        for (int i = 1; i < k; i++) rest += lat[i];
+        double restMeanUs = k > 1 ? rest / 1_000.0 / (k - 1) : 0;
+
+        System.out.println("uptimeAtFirstMs=" + uptimeAtFirstMs);
+        System.out.println("firstOpUs=" + lat[0] / 1_000.0);
+        System.out.println("restMeanUs=" + restMeanUs);
+        System.out.println("classesLoaded=" + classes);
+        System.out.println("hash=" + keep.hashCode());
+    }
+
+    private static Sample runOnce(List<String> cmd) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process p = new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        double launchToFirstMs = -1;
+        Map<String, String> values = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals(READY)) {
+                    launchToFirstMs = (System.nanoTime() - start) / 1_000_000.0;
+                    continue;
+                }
+                int eq = line.indexOf('=');
+                if (eq > 0) values.put(line.substring(0, eq), line.substring(eq + 1));
+            }
+        }
+        int exit = p.waitFor();
+        if (exit != 0 || launchToFirstMs < 0) {
+            throw new IllegalStateException("Probe failed (exit " + exit + "): " + String.join(" ", cmd));
+        }
+        return new Sample(launchToFirstMs,
+                Double.parseDouble(values.get("uptimeAtFirstMs")),
+                Double.parseDouble(values.get("firstOpUs")),
+                Double.parseDouble(values.get("restMeanUs")),
+                Long.parseLong(values.get("classesLoaded")));
+    }
+
+    // Re-launch this class in a fresh JVM with the same module path / class path as the parent
+    private static List<String> probeCommand(String strategy, int k, int heavy, String... jvmOptions) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command().orElse("java"));
+        cmd.addAll(Arrays.asList(jvmOptions));
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null && ColdStart.class.getModule().isNamed()) {
+            cmd.add("--module-path");
+            cmd.add(modulePath);
+            cmd.add("--module");
+            cmd.add(ColdStart.class.getModule().getName() + "/" + ColdStart.class.getName());
+        } else {
+            cmd.add("-cp");
+            cmd.add(System.getProperty("java.class.path"));
+            cmd.add(ColdStart.class.getName());
+        }
+        cmd.add("--probe");
+        cmd.add(strategy);
+        cmd.add(Integer.toString(k));
+        cmd.add(Integer.toString(heavy));
+        return cmd;
+    }
+
+    private static Sample median(List<Sample> samples) {
+        return new Sample(
+                Stats.median(samples.stream().mapToDouble(s -> s.launchToFirstMs).toArray()),
+                Stats.median(samples.stream().mapToDouble(s -> s.uptimeAtFirstMs).toArray()),
+                Stats.median(samples.stream().mapToDouble(s -> s.firstOpUs).toArray()),
+                Stats.median(samples.stream().mapToDouble(s -> s.restMeanUs).toArray()),
+                Math.round(Stats.median(samples.stream().mapToDouble(s -> s.classesLoaded).toArray())));
+    }
+}
@@ -0,0 +1,170 @@
+package RunExperiments;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Konfigurasi eksperimen dibaca dari file .properties (opsional) lalu di-override oleh argumen CLI
+ berbentuk key=value. Semua kombinasi heavySizes x sizes x strategies x threads akan di-sweep.
+
+ Key yang dikenal (lihat juga experiments/*.properties):
+   name, heavySizes, sizes, strategies, threads, repetitions, gcSleepMillis,
+   base.make, base.model, base.color, base.year, base.features (dipisah ';'), prototypeKey,
+   outputDir, chartPrefix, titlePrefix, charts, chartFormats (png,jpeg), chartMaxPoints, renderThreads,
+   show, resume, warmup,
+   store (file JSON Lines untuk RegressionCheck; 'none' untuk menonaktifkan)
+*/
+
+public class ExperimentConfig {
+
+    final String name;
+    final int[] heavySizes;
+    final int[] sizes;
+    final List<Strategy> strategies;
+    final int[] threads;
+    final int repetitions;
+    final long gcSleepMillis;
+
+    final String baseMake;
+    final String baseModel;
+    final String baseColor;
+    final int baseYear;
+    final List<String> baseFeatures;
+    final String prototypeKey;
+
+    final Path outputDir;
+    final String chartPrefix;
+    final String titlePrefix;
+    final boolean charts;
+    final List<ChartRenderer.Format> chartFormats;
+    final int chartMaxPoints;
+    final int renderThreads;
+    final boolean show;
+    final boolean resume;
+    final boolean warmup;
+    final Path store;
+
+    private final Properties props;
+
+    private ExperimentConfig(Properties p) {
+        this.props = p;
+        this.name = p.getProperty("name", "experiment");
+        this.heavySizes = ints(p.getProperty("heavySizes", "1"));
+        this.sizes = ints(p.getProperty("sizes", "1,50,100,200"));
+        List<Strategy> s = new ArrayList<>();
+        for (String v : list(p.getProperty("strategies", "prototype,constructor"))) s.add(Strategy.parse(v));
+        this.strategies = s;
+        this.threads = ints(p.getProperty("threads", "1"));
+        this.repetitions = Integer.parseInt(p.getProperty("repetitions", "1").trim());
+        this.gcSleepMillis = Long.parseLong(p.getProperty("gcSleepMillis", "50").trim());
+
+        this.baseMake = p.getProperty("base.make", "Toyota");
+        this.baseModel = p.getProperty("base.model", "Camry");
+        this.baseColor = p.getProperty("base.color", "Blue");
+        this.baseYear = Integer.parseInt(p.getProperty("base.year", "2022").trim());
+        this.baseFeatures = Arrays.asList(p.getProperty("base.features", "ABS;Airbags;Bluetooth").split("\\s*;\\s*"));
+        this.prototypeKey = p.getProperty("prototypeKey", "base");
+
+        this.outputDir = Path.of(p.getProperty("outputDir", "charts"));
+        this.chartPrefix = p.getProperty("chartPrefix", "");
+        this.titlePrefix = p.getProperty("titlePrefix", "");
+        this.charts = Boolean.parseBoolean(p.getProperty("charts", "true"));
+        List<ChartRenderer.Format> formats = new ArrayList<>();
+        for (String v : list(p.getProperty("chartFormats", "png"))) formats.add(ChartRenderer.Format.parse(v));
+        this.chartFormats = formats;
+        this.chartMaxPoints = Integer.parseInt(p.getProperty("chartMaxPoints", "2000").trim());
+        this.renderThreads = Integer.parseInt(p.getProperty("renderThreads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())).trim());
+        this.show = Boolean.parseBoolean(p.getProperty("show", "false"));
+        this.resume = Boolean.parseBoolean(p.getProperty("resume", "true"));
+        this.warmup = Boolean.parseBoolean(p.getProperty("warmup", "true"));
+        String storeProp = p.getProperty("store", ResultStore.DEFAULT_PATH.toString()).trim();
+        this.store = storeProp.isEmpty() || storeProp.equals("none") ? null : Path.of(storeProp);
+    }
+
+    /**
+     * Builds a config from {@code args}: an optional leading {@code .properties} file followed by
+     * {@code key=value} overrides.
+     */
+    public static ExperimentConfig fromArgs(String[] args) throws IOException {
+        Properties p = new Properties();
+        int i = 0;
+        if (args.length > 0 && !args[0].contains("=")) {
+            try (Reader r = Files.newBufferedReader(Path.of(args[0]))) {
+                p.load(r);
+            }
+            i = 1;
+        }
+        for (; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + args[i]);
+            p.setProperty(args[i].substring(0, eq).replaceFirst("^--", ""), args[i].substring(eq + 1));
+        }
+        return new ExperimentConfig(p);
+    }
+
+    Path csvFile() {
+        return outputDir.resolve(name + "_results.csv");
+    }
+
+    Path jsonFile() {
+        return outputDir.resolve(name + "_results.jsonl");
+    }
+
+    Path configFile() {
+        return outputDir.resolve(name + "_results.config");
+    }
+
+    /**
+     * The settings that change measured values but are not part of a point's key (heavy size, strategy,
+     * threads, N, repetition), one key=value per line. Saved next to the results; resume refuses to mix
+     * points measured under a different fingerprint.
+     */
+    String fingerprint() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("base.make=").append(baseMake).append('\n');
+        sb.append("base.model=").append(baseModel).append('\n');
+        sb.append("base.color=").append(baseColor).append('\n');
+        sb.append("base.year=").append(baseYear).append('\n');
+        sb.append("base.features=").append(String.join(";", baseFeatures)).append('\n');
+        sb.append("prototypeKey=").append(prototypeKey).append('\n');
+        sb.append("gcSleepMillis=").append(gcSleepMillis).append('\n');
+        sb.append("warmup=").append(warmup).append('\n');
+        if (warmup) {
+            for (String kv : WarmUp.describe().split(" ")) sb.append(kv).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** Config as sorted key=value pairs, used to tag stored results. */
+    String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (var e : new TreeMap<>(props).entrySet()) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static List<String> list(String v) {
+        List<String> out = new ArrayList<>();
+        for (String s : v.split(",")) {
+            s = s.trim();
+            if (!s.isEmpty()) out.add(s);
+        }
+        return out;
+    }
+
+    private static int[] ints(String v) {
+        // underscore diperbolehkan seperti literal Java, mis. 3_000_000
+        return list(v).stream().mapToInt(s -> Integer.parseInt(s.replace("_", ""))).toArray();
+    }
+}
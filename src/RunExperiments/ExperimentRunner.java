@@ -0,0 +1,407 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarRegist;
+
+import org.knowm.xchart.SwingWrapper;
+import org.knowm.xchart.XYChart;
+
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Satu mesin eksperimen yang menggantikan PrototypeVsConstructor1/2.
+ 1) Baca konfigurasi (file .properties + override key=value dari CLI), lihat ExperimentConfig.
+ 2) Sweep semua kombinasi heavy size x N x strategy x jumlah thread x repetisi.
+ 3) Setiap titik yang selesai langsung ditulis (append + flush) ke CSV dan JSON Lines,
+    sehingga sweep panjang yang terputus bisa dilanjutkan: titik yang sudah ada di CSV dilewati.
+ 4) Chart dirender paralel dan headless oleh ChartRenderer (format dari chartFormats);
+    jendela Swing hanya dibuka bila show=true dan ada display.
+ 5) Titik baru juga di-append ke ResultStore (default results/store.jsonl) untuk RegressionCheck.
+
+ Contoh:
+   java -p bin:lib -m GSLC_Paper/RunExperiments.ExperimentRunner experiments/primary.properties
+   java -p bin:lib -m GSLC_Paper/RunExperiments.ExperimentRunner experiments/secondary.properties threads=1,4
+*/
+
+public class ExperimentRunner {
+
+    private static final String CSV_HEADER = "heavySize,strategy,threads,n,rep,nanos,memoryBytes";
+    // Batas heavy data yang dialokasikan satu iterasi pemanasan (mis. 3 MB x 21 mobil)
+    private static final long WARMUP_BYTES = 64L << 20;
+
+    static class Point {
+        final int heavySize;
+        final Strategy strategy;
+        final int threads;
+        final int n;
+        final int rep;
+        final long nanos;
+        final long memoryBytes;
+
+        Point(int heavySize, Strategy strategy, int threads, int n, int rep, long nanos, long memoryBytes) {
+            this.heavySize = heavySize;
+            this.strategy = strategy;
+            this.threads = threads;
+            this.n = n;
+            this.rep = rep;
+            this.nanos = nanos;
+            this.memoryBytes = memoryBytes;
+        }
+
+        String key() {
+            return key(heavySize, strategy, threads, n, rep);
+        }
+
+        static String key(int heavySize, Strategy strategy, int threads, int n, int rep) {
+            return heavySize + "," + strategy.label() + "," + threads + "," + n + "," + rep;
+        }
+
+        String toCsv() {
+            return key() + "," + nanos + "," + memoryBytes;
+        }
+
+        String toJson(String name) {
+            return String.format("{\"name\":\"%s\",\"heavySize\":%d,\"strategy\":\"%s\",\"threads\":%d,\"n\":%d,"
+                            + "\"rep\":%d,\"nanos\":%d,\"memoryBytes\":%d}",
+                    name.replace("\"", "\\\""), heavySize, strategy.label(), threads, n, rep, nanos, memoryBytes);
+        }
+
+        static Point fromCsv(String line) {
+            String[] p = line.split(",");
+            return new Point(Integer.parseInt(p[0]), Strategy.parse(p[1]), Integer.parseInt(p[2]),
+                    Integer.parseInt(p[3]), Integer.parseInt(p[4]), Long.parseLong(p[5]), Long.parseLong(p[6]));
+        }
+    }
+
+    // Keeps warm-up results reachable so the JIT cannot eliminate the loop
+    private static volatile List<Car> sink;
+
+    public static void main(String[] args) throws Exception {
+        ExperimentConfig cfg = ExperimentConfig.fromArgs(args);
+        List<Point> points = run(cfg);
+        if (cfg.charts) saveCharts(cfg, points);
+        System.out.println("Done.");
+    }
+
+    /** Runs every point of the sweep not yet present in the CSV and returns all points (old and new). */
+    static List<Point> run(ExperimentConfig cfg) throws IOException, InterruptedException {
+        Files.createDirectories(cfg.outputDir);
+        List<Point> points = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+
+        if (cfg.resume && Files.exists(cfg.csvFile())) {
+            // Baris terakhir bisa terpotong bila proses dihentikan saat menulis; buang potongannya dulu
+            // supaya titik baru tidak ditempel ke potongan itu, lalu ukur ulang titiknya
+            truncateToLastCompleteLine(cfg.csvFile());
+            for (String line : Files.readAllLines(cfg.csvFile())) {
+                line = line.trim();
+                if (line.isEmpty() || line.equals(CSV_HEADER)) continue;
+                try {
+                    Point p = Point.fromCsv(line);
+                    if (done.add(p.key())) points.add(p);
+                } catch (RuntimeException e) {
+                    System.err.println("Skipping unreadable result line: " + line);
+                }
+            }
+            if (!points.isEmpty()) checkFingerprint(cfg);
+            syncJsonLines(cfg, points, done);
+            System.out.println("Resuming " + cfg.name + ": " + done.size() + " points already in " + cfg.csvFile());
+        } else {
+            Files.deleteIfExists(cfg.csvFile());
+            Files.deleteIfExists(cfg.jsonFile());
+        }
+        Files.writeString(cfg.configFile(), cfg.fingerprint(), StandardCharsets.UTF_8);
+
+        boolean newCsv = !Files.exists(cfg.csvFile()) || Files.size(cfg.csvFile()) == 0;
+        try (BufferedWriter csv = Files.newBufferedWriter(cfg.csvFile(), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             BufferedWriter json = Files.newBufferedWriter(cfg.jsonFile(), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             ResultStore store = cfg.store == null ? null : ResultStore.openRun(cfg.store, cfg.name, cfg.describe())) {
+            if (store != null) {
+                System.out.println("Recording run " + store.runId() + " (commit " + store.commit() + ") to " + cfg.store);
+            }
+            if (newCsv) {
+                csv.write(CSV_HEADER);
+                csv.newLine();
+                csv.flush();
+            }
+
+            for (int heavy : cfg.heavySizes) {
+                Car.setHeavyDataSize(heavy);
+                Car base = new Car(cfg.baseMake, cfg.baseModel, cfg.baseColor, cfg.baseYear, cfg.baseFeatures);
+                CarRegist registry = new CarRegist();
+                registry.addPrototype(cfg.prototypeKey, base);
+                System.out.println(cfg.name + ": heavyDataSize=" + Car.HEAVY_DATA_SIZE + " bytes");
+
+                boolean warmedUp = false;
+                for (int threads : cfg.threads) {
+                    for (int n : cfg.sizes) {
+                        for (int rep = 0; rep < cfg.repetitions; rep++) {
+                            for (Strategy s : cfg.strategies) {
+                                if (done.contains(Point.key(heavy, s, threads, n, rep))) continue;
+
+                                // Pemanasan hanya bila masih ada titik yang perlu diukur untuk heavy size ini
+                                // Satu iterasi pemanasan menjalankan semua strategi bergantian (seperti sweep di bawah)
+                                // dengan N yang diukur bergiliran (dibatasi WARMUP_BYTES), supaya kode yang dikompilasi
+                                // sudah melihat semua tipe dan N; kalau tidak, build() di-deopt di titik pertama yang diukur
+                                if (cfg.warmup && !warmedUp) {
+                                    int maxN = (int) Math.max(1, Math.min(Integer.MAX_VALUE, WARMUP_BYTES / Math.max(1, heavy)));
+                                    int[] warmSizes = Arrays.stream(cfg.sizes).map(x -> Math.min(x, maxN)).distinct().toArray();
+                                    int[] turn = { 0 };
+                                    System.out.println("  " + WarmUp.untilSteady("all strategies", () -> {
+                                        int warmN = warmSizes[turn[0]++ % warmSizes.length];
+                                        for (Strategy w : cfg.strategies) sink = w.build(registry, cfg.prototypeKey, base, warmN);
+                                    }).requireSteady());
+                                    sink = null;
+                                    warmedUp = true;
+                                }
+
+                                Point p = measure(cfg, registry, base, heavy, s, threads, n, rep);
+                                points.add(p);
+                                csv.write(p.toCsv());
+                                csv.newLine();
+                                csv.flush();
+                                json.write(p.toJson(cfg.name));
+                                json.newLine();
+                                json.flush();
+                                if (store != null) {
+                                    store.append(heavy, s.label(), threads, n, p.nanos, p.memoryBytes);
+                                }
+
+                                System.out.printf("heavy=%d threads=%d N=%d rep=%d | %s: %.3f ms, %.1f KB%n",
+                                        heavy, threads, n, rep, s.label(),
+                                        p.nanos / 1_000_000.0, p.memoryBytes / 1024.0);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("Results streamed to " + cfg.csvFile() + " and " + cfg.jsonFile());
+        return points;
+    }
+
+    /**
+     * Throws when the results being resumed were measured with other settings than {@code cfg} (or
+     * predate the fingerprint file), instead of silently mixing old and new points in one CSV.
+     */
+    private static void checkFingerprint(ExperimentConfig cfg) throws IOException {
+        String expected = cfg.fingerprint();
+        String saved = Files.exists(cfg.configFile()) ? Files.readString(cfg.configFile(), StandardCharsets.UTF_8) : null;
+        if (expected.equals(saved)) return;
+        StringBuilder diff = new StringBuilder();
+        if (saved == null) {
+            diff.append(" (no ").append(cfg.configFile().getFileName()).append(')');
+        } else {
+            List<String> old = Arrays.asList(saved.split("\n"));
+            for (String line : expected.split("\n")) {
+                if (!old.contains(line)) diff.append("\n  now ").append(line);
+            }
+            for (String line : old) {
+                if (!expected.contains(line + "\n")) diff.append("\n  was ").append(line);
+            }
+        }
+        throw new IllegalStateException("Cannot resume " + cfg.csvFile() + ": its points were measured with other settings"
+                + diff + "\nRun with resume=false to start over, or use another name.");
+    }
+
+    /** Cuts {@code file} back to just after its last newline, dropping a line cut off by a crash. */
+    static void truncateToLastCompleteLine(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            ByteBuffer buf = ByteBuffer.allocate(4096);
+            long end = size;
+            while (end > 0) {
+                int len = (int) Math.min(buf.capacity(), end);
+                buf.clear().limit(len);
+                ch.read(buf, end - len);
+                for (int i = len - 1; i >= 0; i--) {
+                    if (buf.get(i) == '\n') {
+                        long keep = end - len + i + 1;
+                        if (keep < size) ch.truncate(keep);
+                        return;
+                    }
+                }
+                end -= len;
+            }
+            ch.truncate(0);
+        }
+    }
+
+    private static final Pattern JSON_KEY = Pattern.compile(
+            "\"heavySize\":(\\d+),\"strategy\":\"([^\"]*)\",\"threads\":(\\d+),\"n\":(\\d+),\"rep\":(\\d+)");
+
+    /**
+     * Rewrites the JSON Lines file so that it holds exactly one line per point in {@code done}, the same
+     * set the CSV resumes from: duplicates, cut-off lines and points the CSV lost are dropped, and points
+     * whose JSON line was never written are added back from the CSV.
+     */
+    private static void syncJsonLines(ExperimentConfig cfg, List<Point> points, Set<String> done) throws IOException {
+        Path file = cfg.jsonFile();
+        Set<String> kept = new HashSet<>();
+        StringBuilder sb = new StringBuilder();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Matcher m = JSON_KEY.matcher(line);
+                if (!line.endsWith("}") || !m.find()) continue;
+                String key = m.group(1) + "," + m.group(2) + "," + m.group(3) + "," + m.group(4) + "," + m.group(5);
+                if (done.contains(key) && kept.add(key)) sb.append(line).append('\n');
+            }
+        }
+        for (Point p : points) {
+            if (kept.add(p.key())) sb.append(p.toJson(cfg.name)).append('\n');
+        }
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "results", ".tmp");
+        Files.writeString(tmp, sb.toString(), StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Point measure(ExperimentConfig cfg, CarRegist registry, Car base, int heavy,
+                                 Strategy s, int threads, int n, int rep) throws InterruptedException {
+        // Pool dibuat dan thread-nya dijalankan sebelum t0 (dan sebelum memori awal diukur);
+        // task menunggu latch sehingga yang terukur hanya kerja task-nya
+        ThreadPoolExecutor pool = null;
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<List<Car>>> parts = new ArrayList<>(threads);
+        if (threads > 1) {
+            pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(threads);
+            pool.prestartAllCoreThreads();
+            for (int t = 0; t < threads; t++) {
+                int share = n / threads + (t < n % threads ? 1 : 0);
+                parts.add(pool.submit(() -> {
+                    go.await();
+                    return s.build(registry, cfg.prototypeKey, base, share);
+                }));
+            }
+        }
+        try {
+            forceGC(cfg.gcSleepMillis);
+            long beforeMem = usedMemory();
+
+            long t0 = System.nanoTime();
+            List<List<Car>> produced = new ArrayList<>(threads);
+            if (pool == null) {
+                produced.add(s.build(registry, cfg.prototypeKey, base, n));
+            } else {
+                go.countDown();
+                try {
+                    for (Future<List<Car>> f : parts) produced.add(f.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Experiment worker failed", e.getCause());
+                }
+            }
+            long t1 = System.nanoTime();
+
+            forceGC(cfg.gcSleepMillis);
+            long afterMem = usedMemory();
+            // keep the produced cars reachable until after the second measurement
+            Reference.reachabilityFence(produced);
+            return new Point(heavy, s, threads, n, rep, t1 - t0, Math.max(0, afterMem - beforeMem));
+        } finally {
+            if (pool != null) pool.shutdownNow();
+        }
+    }
+
+    static void saveCharts(ExperimentConfig cfg, List<Point> points) {
+        // Cek display sebelum ChartRenderer dimuat: renderer memaksa mode headless bila belum ditentukan
+        boolean display = cfg.show && !GraphicsEnvironment.isHeadless();
+
+        // Kelompokkan per (heavy size, threads); satu pasang chart waktu/memori per kelompok
+        Map<String, List<Point>> groups = new LinkedHashMap<>();
+        for (Point p : points) {
+            groups.computeIfAbsent(p.heavySize + "_t" + p.threads, k -> new ArrayList<>()).add(p);
+        }
+        boolean single = groups.size() == 1;
+
+        List<ChartRenderer.Dataset> datasets = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        for (Map.Entry<String, List<Point>> g : groups.entrySet()) {
+            String suffix = single ? "" : "_h" + g.getKey();
+            String subtitle = single ? "" : " (heavy=" + g.getKey().replace("_t", ", threads=") + ")";
+
+            ChartRenderer.Dataset time = new ChartRenderer.Dataset(
+                    cfg.titlePrefix + "Total Execution Time vs Number of Objects" + subtitle,
+                    "Number of objects (N)", "Time (ms)");
+            ChartRenderer.Dataset mem = new ChartRenderer.Dataset(
+                    cfg.titlePrefix + "Memory Used vs Number of Objects" + subtitle,
+                    "Number of objects (N)", "Memory (KB)");
+
+            for (Strategy s : cfg.strategies) {
+                double[] x = new double[cfg.sizes.length];
+                double[] t = new double[cfg.sizes.length];
+                double[] m = new double[cfg.sizes.length];
+                int filled = 0;
+                for (int n : cfg.sizes) {
+                    double tSum = 0, mSum = 0;
+                    int count = 0;
+                    for (Point p : g.getValue()) {
+                        if (p.strategy != s || p.n != n) continue;
+                        tSum += p.nanos / 1_000_000.0;
+                        mSum += p.memoryBytes / 1024.0;
+                        count++;
+                    }
+                    if (count == 0) continue;
+                    x[filled] = n;
+                    t[filled] = tSum / count;
+                    m[filled] = mSum / count;
+                    filled++;
+                }
+                if (filled == 0) continue;
+                String series = s.label().substring(0, 1).toUpperCase() + s.label().substring(1);
+                time.series(series, Arrays.copyOf(x, filled), Arrays.copyOf(t, filled));
+                mem.series(series, Arrays.copyOf(x, filled), Arrays.copyOf(m, filled));
+            }
+
+            if (time.isEmpty()) continue;
+            datasets.add(time);
+            outputs.add(cfg.outputDir.resolve(cfg.chartPrefix + "time_vs_n" + suffix));
+            datasets.add(mem);
+            outputs.add(cfg.outputDir.resolve(cfg.chartPrefix + "memory_vs_n" + suffix));
+        }
+
+        ChartRenderer renderer = new ChartRenderer(cfg.renderThreads, cfg.chartMaxPoints, cfg.chartFormats);
+        List<XYChart> charts = renderer.render(datasets, outputs);
+        if (display) {
+            for (XYChart c : charts) new SwingWrapper<>(c).displayChart();
+        }
+        System.out.println("Charts saved to " + cfg.outputDir);
+    }
+
+    private static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void forceGC(long sleepMillis) throws InterruptedException {
+        System.gc();
+        Thread.sleep(sleepMillis);
+        System.gc();
+        Thread.sleep(sleepMillis);
+    }
+}
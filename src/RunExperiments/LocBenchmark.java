@@ -0,0 +1,177 @@
+package RunExperiments;
+
+import Main.LocCache;
+import Main.LocCounter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Membandingkan throughput LocCounter (paralel, streaming byte) dengan implementasi lama
+ (`Files.walk` sekuensial + `Files.readAllLines` + pengecekan baris sederhana).
+ Setiap implementasi dijalankan beberapa kali; run pertama dianggap pemanasan (cache OS, JIT).
+ Setelah itu LocCache diukur pada salinan file .java di direktori sementara (tree asli tidak disentuh):
+ cold, warm tanpa perubahan, lalu 1% file ditulis ulang - separuh dengan isi sama (hanya mtime berubah,
+ harus jadi hash hit) dan separuh dengan isi berubah (harus dihitung ulang).
+
+ Contoh: java -p bin:lib -m GSLC_Paper/RunExperiments.LocBenchmark /path/ke/monorepo 3
+*/
+
+public class LocBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args.length > 0 ? args[0] : "src");
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int r = 0; r <= rounds; r++) {
+            String tag = r == 0 ? "warm-up" : "round " + r;
+
+            long t0 = System.nanoTime();
+            long[] legacy = legacyTree(root);
+            long legacyNanos = System.nanoTime() - t0;
+
+            LocCounter.Summary s = LocCounter.countTree(root, p -> p.toString().endsWith(".java"), threads);
+
+            System.out.printf("%-8s legacy : %d files, %d LOC, %.0f files/s, %.1f MB/s (%d unreadable)%n", tag,
+                    legacy[0], legacy[2], legacy[0] / (legacyNanos / 1e9),
+                    legacy[1] / (1024.0 * 1024.0) / (legacyNanos / 1e9), legacy[3]);
+            System.out.printf("%-8s engine : %d files, %d LOC, %.0f files/s, %.1f MB/s (%d threads, speed-up %.1fx)%n", tag,
+                    s.files.size(), s.loc, s.filesPerSecond(), s.megabytesPerSecond(), threads,
+                    legacyNanos / (double) s.nanos);
+        }
+        System.out.println("LOC differences come from comment handling the legacy counter gets wrong"
+                + " (code after an inline */, /* inside strings).");
+
+        cacheBenchmark(root, threads);
+    }
+
+    // Cold (cache kosong), warm (tidak ada perubahan), dan 1% file benar-benar ditulis ulang
+    private static void cacheBenchmark(Path root, int threads) throws IOException {
+        Path copy = Files.createTempDirectory("loc_bench");
+        Path cacheFile = copy.resolve("loc_cache.tsv");
+        try {
+            Path tree = copy.resolve("tree");
+            List<Path> files = copyJavaFiles(root, tree);
+
+            LocCache cache = LocCache.open(cacheFile);
+            timeCached("cold", cache, tree, threads);
+            cache.save(tree);
+
+            cache = LocCache.open(cacheFile);
+            timeCached("warm", cache, tree, threads);
+            cache.save(tree);
+
+            int touched = 0, modified = 0;
+            for (int i = 0; i < files.size(); i += 100) {
+                Path f = files.get(i);
+                byte[] content = Files.readAllBytes(f);
+                FileTime mtime = Files.getLastModifiedTime(f);
+                if ((i / 100) % 2 == 0) {
+                    // Isi sama, ditulis ulang (mis. checkout ulang): ukuran sama, mtime beda
+                    Files.write(f, content);
+                    touched++;
+                } else {
+                    Files.write(f, (new String(content, StandardCharsets.ISO_8859_1) + "\n// changed by LocBenchmark\n")
+                            .getBytes(StandardCharsets.ISO_8859_1));
+                    modified++;
+                }
+                // Pastikan mtime berubah walaupun resolusi timestamp filesystem kasar
+                Files.setLastModifiedTime(f, FileTime.fromMillis(mtime.toMillis() + 2_000));
+            }
+            System.out.printf("rewrote %d of %d files: %d with identical content, %d modified%n",
+                    touched + modified, files.size(), touched, modified);
+
+            cache = LocCache.open(cacheFile);
+            timeCached("1% changed", cache, tree, threads);
+        } finally {
+            deleteTree(copy);
+        }
+    }
+
+    // Salin semua file .java di bawah root ke target (struktur direktori dipertahankan)
+    private static List<Path> copyJavaFiles(Path root, Path target) throws IOException {
+        List<Path> copied = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) walk::iterator) {
+                if (!p.toString().endsWith(".java") || !Files.isRegularFile(p)) continue;
+                Path dest = target.resolve(root.relativize(p).toString());
+                Files.createDirectories(dest.getParent());
+                Files.copy(p, dest, StandardCopyOption.COPY_ATTRIBUTES);
+                copied.add(dest);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        copied.sort(null);
+        return copied;
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            List<Path> all = walk.sorted(Comparator.reverseOrder()).toList();
+            for (Path p : all) Files.deleteIfExists(p);
+        }
+    }
+
+    private static void timeCached(String tag, LocCache cache, Path root, int threads) throws IOException {
+        LocCounter.Summary s = cache.countTree(root, p -> p.toString().endsWith(".java"), threads);
+        System.out.printf("cache %-10s: %d files, %d LOC in %.1f ms (%.0f files/s) | %s%n",
+                tag, s.files.size(), s.loc, s.nanos / 1e6, s.filesPerSecond(), cache.stats());
+    }
+
+    // { files, bytes, loc, unreadable }
+    private static long[] legacyTree(Path root) throws IOException {
+        long[] totals = new long[4];
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p)).forEach(p -> {
+                try {
+                    totals[1] += Files.size(p);
+                    totals[2] += legacyCount(p);
+                    totals[0]++;
+                } catch (IOException e) {
+                    // readAllLines gagal pada file yang bukan UTF-8 valid
+                    totals[3]++;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return totals;
+    }
+
+    // Implementasi lama dari ModularityLOC/LocChartAndReport, dipertahankan hanya untuk perbandingan
+    private static int legacyCount(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        boolean inBlock = false;
+        int count = 0;
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty()) continue;
+            if (!inBlock && line.startsWith("/*")) {
+                inBlock = true;
+                if (line.endsWith("*/") && !line.equals("/*")) {
+                    inBlock = false;
+                }
+                continue;
+            }
+            if (inBlock) {
+                if (line.endsWith("*/")) inBlock = false;
+                continue;
+            }
+            if (line.startsWith("//")) continue;
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,5 +1,7 @@
 package RunExperiments;
 
+import Main.LocCache;
+
 import org.knowm.xchart.BitmapEncoder;
 import org.knowm.xchart.CategoryChart;
 import org.knowm.xchart.CategoryChartBuilder;
@@ -12,6 +14,7 @@ import java.nio.file.AccessDeniedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,14 +26,18 @@ import java.util.Map;
  Alur utama:
   - Cek apakah ada berkas CSV hasil pengukuran di folder `charts/`.
   - Jika tidak ada, hitung LOC dari file contoh di `src/Main/generated`.
+  - Tulis ringkasan teks ke `charts/loc_report.txt`.
   - Bangun chart kategori (bar chart) dari data dan simpan ke `charts/loc_chart.png`.
+  - Jika `charts/compile.csv` ada (hasil kompilasi di memori oleh ModularityLOC), buat juga
+    `charts/compile_chart.png`: LOC, waktu javac, ukuran bytecode, jumlah class, waktu load dan eksekusi
+    berdampingan, dan tambahkan ringkasannya ke laporan.
   - Jika lingkungan grafis tersedia, tampilkan chart di jendela Swing.
 
  Bagian penting (komentar singkat):
   - Pembuatan direktori charts: pastikan lokasi bisa ditulis, gunakan fallback bila perlu.
   - Parsing CSV: format diharapkan N,prototypeLOC,constructorLOC (header di baris pertama).
   - Fallback ke folder `src/Main/generated`: membaca file `PrototypeUsage_*` dan `ConstructorUsage_*`.
-  - `countEffectiveLines`: menghitung LOC efektif (mengabaikan komentar dan baris kosong).
+  - `LocCache.count`: LOC efektif (tanpa komentar/baris kosong), hanya dihitung ulang untuk file yang berubah.
 */
 
 public class LocChartAndReport {
@@ -81,6 +88,8 @@ public class LocChartAndReport {
             // Jika CSV tidak ada, coba hitung dari contoh sumber yang di-generate
             Path genDir = Path.of(System.getProperty("user.dir"), "src", "Main", "generated");
             if (Files.exists(genDir) && Files.isDirectory(genDir)) {
+                // Cache LOC per file (path+size+mtime, hash sebagai cadangan): hanya file berubah yang dihitung ulang
+                LocCache cache = LocCache.open(chartsDir.resolve("loc_cache.tsv"));
                 Map<String, Integer> protoMap = new HashMap<>();
                 Map<String, Integer> consMap = new HashMap<>();
 
@@ -90,16 +99,19 @@ public class LocChartAndReport {
                         String name = p.getFileName().toString();
                         if (name.startsWith("PrototypeUsage_") && name.endsWith(".java")) {
                             String n = name.substring("PrototypeUsage_".length(), name.length() - 5);
-                            int loc = countEffectiveLines(p); // Hitung LOC efektif (tanpa komentar/baris kosong)
+                            int loc = cache.count(p); // Hitung LOC efektif (tanpa komentar/baris kosong)
                             protoMap.put(n, loc);
                         } else if (name.startsWith("ConstructorUsage_") && name.endsWith(".java")) {
                             String n = name.substring("ConstructorUsage_".length(), name.length() - 5);
-                            int loc = countEffectiveLines(p);
+                            int loc = cache.count(p);
                             consMap.put(n, loc);
                         }
                     }
                 }
 
+                cache.save(genDir);
+                System.out.println("LOC " + cache.stats());
+
                 // Gabungkan kunci (N) dari kedua map dan urutkan secara numerik bila memungkinkan
                 List<String> keys = new ArrayList<>(protoMap.keySet());
                 for (String k : consMap.keySet()) if (!keys.contains(k)) keys.add(k);
@@ -130,6 +142,9 @@ public class LocChartAndReport {
             }
         }
 
+        // Tulis ringkasan teks di samping chart
+        writeReport(chartsDir.resolve("loc_report.txt"), categories, proto, cons);
+
         // Bangun chart kategori (bar chart) dengan judul dan label sumbu
         CategoryChart chart = new CategoryChartBuilder()
                 .width(800).height(600)
@@ -156,6 +171,134 @@ public class LocChartAndReport {
         }
 
         System.out.println("Chart saved to: " + outPng.toString());
+
+        // Biaya kompilasi (javac, bytecode, class-load, eksekusi) di samping LOC, bila sudah diukur
+        Path compileCsv = chartsDir.resolve("compile.csv");
+        if (Files.exists(compileCsv)) {
+            saveCompileCharts(chartsDir, compileCsv, categories, proto, cons);
+        } else {
+            System.out.println("No compile measurements at " + compileCsv + " (run ModularityLOC with compile=true).");
+        }
+    }
+
+    // Kolom compile.csv: N,Kind,Javac_ms,Bytecode_bytes,Classes,Load_ms,Exec_ms
+    private static final String[] COMPILE_TITLES = { "javac time", "Bytecode size", "Classes", "Class load time", "Execution time" };
+    private static final String[] COMPILE_UNITS = { "ms", "KB", "count", "ms", "ms" };
+
+    private static void saveCompileCharts(Path chartsDir, Path compileCsv, List<String> locCategories,
+                                          List<Integer> locProto, List<Integer> locCons) throws IOException {
+        List<String> ns = new ArrayList<>();
+        Map<String, double[]> protoRows = new HashMap<>();
+        Map<String, double[]> consRows = new HashMap<>();
+        List<String> lines = Files.readAllLines(compileCsv);
+        int columns = lines.isEmpty() ? 0 : lines.get(0).split(",").length;
+        if (columns != 7) throw new IOException(compileCsv + ": expected header N,Kind,Javac_ms,Bytecode_bytes,Classes,Load_ms,Exec_ms");
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty()) continue;
+            String[] parts = line.split(",", -1);
+            // Baris dengan jumlah kolom lain (mis. ditulis dengan koma desimal) akan menggeser kolom tanpa terlihat
+            if (parts.length != columns) {
+                throw new IOException(compileCsv + ":" + (i + 1) + ": expected " + columns + " columns as in the header but got "
+                        + parts.length + ": " + line);
+            }
+            double[] row = new double[] {
+                    Double.parseDouble(parts[2]), Long.parseLong(parts[3]) / 1024.0, Integer.parseInt(parts[4]),
+                    Double.parseDouble(parts[5]), Double.parseDouble(parts[6]) };
+            if (!ns.contains(parts[0])) ns.add(parts[0]);
+            ("Prototype".equals(parts[1]) ? protoRows : consRows).put(parts[0], row);
+        }
+        if (ns.isEmpty()) {
+            System.err.println("Compile CSV contains no data: " + compileCsv);
+            return;
+        }
+
+        List<CategoryChart> charts = new ArrayList<>();
+
+        // LOC untuk N yang sama, supaya setiap metrik bisa dibandingkan langsung dengan jumlah baris
+        List<Integer> locP = new ArrayList<>();
+        List<Integer> locC = new ArrayList<>();
+        for (String n : ns) {
+            int idx = locCategories.indexOf(n);
+            locP.add(idx < 0 ? 0 : locProto.get(idx));
+            locC.add(idx < 0 ? 0 : locCons.get(idx));
+        }
+        CategoryChart loc = compileChart("Lines of Code", "LOC");
+        loc.addSeries("Prototype", ns, locP);
+        loc.addSeries("Constructor", ns, locC);
+        charts.add(loc);
+
+        for (int m = 0; m < COMPILE_TITLES.length; m++) {
+            List<Double> p = new ArrayList<>();
+            List<Double> c = new ArrayList<>();
+            for (String n : ns) {
+                p.add(protoRows.containsKey(n) ? protoRows.get(n)[m] : 0.0);
+                c.add(consRows.containsKey(n) ? consRows.get(n)[m] : 0.0);
+            }
+            CategoryChart chart = compileChart(COMPILE_TITLES[m], COMPILE_UNITS[m]);
+            chart.addSeries("Prototype", ns, p);
+            chart.addSeries("Constructor", ns, c);
+            charts.add(chart);
+        }
+
+        Path outPng = chartsDir.resolve("compile_chart.png");
+        BitmapEncoder.saveBitmap(charts, 2, 3, outPng.toString(), BitmapEncoder.BitmapFormat.PNG);
+        if (!GraphicsEnvironment.isHeadless()) {
+            new SwingWrapper<>(charts).displayChartMatrix();
+        }
+        System.out.println("Compile chart saved to: " + outPng);
+
+        // Ringkasan per N ditambahkan ke laporan LOC
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nCompile, load and run (in-memory javac)\n");
+        sb.append("====================================\n\n");
+        for (String n : ns) {
+            double[] p = protoRows.get(n);
+            double[] c = consRows.get(n);
+            if (p == null || c == null) continue;
+            sb.append(String.format("N=%s: javac %.1f / %.1f ms, bytecode %.1f / %.1f KB, load %.2f / %.2f ms, exec %.2f / %.2f ms%n",
+                    n, p[0], c[0], p[1], c[1], p[3], c[3], p[4], c[4]));
+        }
+        sb.append("(values are Prototype / Constructor)\n");
+        Files.writeString(chartsDir.resolve("loc_report.txt"), sb.toString(), StandardOpenOption.APPEND);
+    }
+
+    private static CategoryChart compileChart(String title, String unit) {
+        CategoryChart chart = new CategoryChartBuilder()
+                .width(500).height(380)
+                .title(title)
+                .xAxisTitle("N")
+                .yAxisTitle(unit)
+                .build();
+        chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNW);
+        return chart;
+    }
+
+    // Laporan teks: LOC per N, selisih Prototype - Constructor, dan kesimpulan dari data
+    private static void writeReport(Path out, List<String> categories, List<Integer> proto, List<Integer> cons) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("LOC comparison - Prototype vs Constructor\n");
+        sb.append("====================================\n\n");
+        int fewer = 0;
+        for (int i = 0; i < categories.size(); i++) {
+            int p = proto.get(i);
+            int c = cons.get(i);
+            int diff = p - c;
+            double pct = c == 0 ? 0 : diff * 100.0 / c;
+            if (diff < 0) fewer++;
+            sb.append(String.format("N=%s: Prototype=%d, Constructor=%d, Diff=%d (%.1f%%)%n", categories.get(i), p, c, diff, pct));
+        }
+        sb.append("\nConclusion:\n");
+        if (fewer == categories.size()) {
+            sb.append("Prototype needs fewer LOC than Constructor for every N; the gap grows with the number of created objects.\n");
+        } else if (fewer == 0) {
+            sb.append("Prototype needs at least as many LOC as Constructor for every N because of registry and clone usage.\n");
+        } else {
+            sb.append("Prototype needs fewer LOC for ").append(fewer).append(" of ").append(categories.size())
+                    .append(" sizes; the registry setup dominates for small N.\n");
+        }
+        Files.writeString(out, sb.toString());
+        System.out.println("Report saved to: " + out);
     }
 
     // Direktori fallback bila tidak bisa membuat ./charts di working directory
@@ -167,29 +310,4 @@ public class LocChartAndReport {
     private static String genDirPathInfo() {
         return Path.of(System.getProperty("user.dir"), "src", "Main", "generated").toString();
     }
-
-    // Hitung LOC efektif: abaikan komentar blok, komentar baris, dan baris kosong
-    private static int countEffectiveLines(Path file) throws IOException {
-        List<String> lines = Files.readAllLines(file);
-        boolean inBlock = false;
-        int count = 0;
-        for (String raw : lines) {
-            String line = raw.trim();
-            if (line.isEmpty()) continue;
-            if (!inBlock && line.startsWith("/*")) {
-                inBlock = true;
-                if (line.endsWith("*/") && !line.equals("/*")) {
-                    inBlock = false;
-                }
-                continue;
-            }
-            if (inBlock) {
-                if (line.endsWith("*/")) inBlock = false;
-                continue;
-            }
-            if (line.startsWith("//")) continue;
-            count++;
-        }
-        return count;
-    }
 }
\ No newline at end of file
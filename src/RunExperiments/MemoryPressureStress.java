@@ -0,0 +1,88 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarRegist;
+import Main.PayloadRetention;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Stress test untuk retensi adaptif payload prototipe (CarRegist.setAdaptiveRetention).
+  - Mendaftarkan banyak prototipe (default 400 x 1 MB) ke satu registry, jauh melebihi heap.
+  - Di sela pendaftaran, sekumpulan kecil key "panas" terus di-clone dan payload-nya dibaca.
+  - Di akhir, sampel semua key di-clone lagi dan isi heavyData diverifikasi (payload yang sudah
+    dibuang GC harus diregenerasi dengan isi yang sama).
+ Tanpa mode adaptif semua payload tetap strongly reachable sehingga JVM melempar OutOfMemoryError;
+ dengan mode adaptif payload idle diturunkan ke SoftReference saat ambang heap terlewati.
+
+ Contoh (bandingkan):
+   java -Xmx128m -p bin:lib -m GSLC_Paper/RunExperiments.MemoryPressureStress adaptive=false
+   java -Xmx128m -p bin:lib -m GSLC_Paper/RunExperiments.MemoryPressureStress adaptive=true
+*/
+
+public class MemoryPressureStress {
+
+    public static void main(String[] args) {
+        boolean adaptive = true;
+        int prototypes = 400;
+        int hot = 8;
+        int clonesPerAdd = 20;
+        int verifyEvery = 10;
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "adaptive": adaptive = Boolean.parseBoolean(v); break;
+                case "prototypes": prototypes = Integer.parseInt(v); break;
+                case "hot": hot = Integer.parseInt(v); break;
+                case "clonesPerAdd": clonesPerAdd = Integer.parseInt(v); break;
+                case "verifyEvery": verifyEvery = Integer.parseInt(v); break;
+                case "heavy": Car.setHeavyDataSize(Integer.parseInt(v.replace("_", ""))); break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        System.out.printf("MemoryPressureStress: adaptive=%s, %d prototypes x %.1f MB, max heap %.0f MB%n",
+                adaptive, prototypes, Car.HEAVY_DATA_SIZE / 1048576.0, maxHeap / 1048576.0);
+
+        CarRegist registry = new CarRegist();
+        registry.setAdaptiveRetention(adaptive);
+        Random rnd = new Random(42);
+        long checksum = 0;
+        int added = 0;
+        long t0 = System.nanoTime();
+        try {
+            for (int i = 0; i < prototypes; i++) {
+                registry.addPrototype("p" + i, new Car("Make" + i, "Model", "Color", 2025, Arrays.asList("F")));
+                added++;
+                // Beban kerja: key panas di-clone terus dan payload-nya dipakai
+                for (int c = 0; c < clonesPerAdd; c++) {
+                    Car clone = registry.getClone("p" + rnd.nextInt(Math.min(hot, added)));
+                    checksum += clone.getHeavyData()[c % Math.max(1, Car.HEAVY_DATA_SIZE)];
+                }
+            }
+
+            // Verifikasi: payload (mungkin hasil regenerasi) harus identik dengan aslinya
+            int verified = 0;
+            for (int i = 0; i < prototypes; i += Math.max(1, verifyEvery)) {
+                byte[] data = registry.getClone("p" + i).getHeavyData();
+                for (int j = 0; j < data.length; j += 4096) {
+                    if (data[j] != (byte) (j % 127)) throw new IllegalStateException("payload of p" + i + " differs at " + j);
+                }
+                verified++;
+            }
+            System.out.printf("Completed: %d prototypes registered, %d verified in %.1f ms (checksum %d)%n",
+                    added, verified, (System.nanoTime() - t0) / 1e6, checksum);
+        } catch (OutOfMemoryError e) {
+            // Lepaskan registry dulu supaya pesan di bawah masih bisa dialokasikan
+            registry = null;
+            System.out.printf("OutOfMemoryError after %d of %d prototypes (%.1f ms)%n", added, prototypes, (System.nanoTime() - t0) / 1e6);
+            if (adaptive) System.out.println(PayloadRetention.stats());
+            System.exit(1);
+        }
+        if (adaptive) System.out.println(PayloadRetention.stats());
+    }
+}
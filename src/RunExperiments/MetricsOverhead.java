@@ -0,0 +1,129 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarMetrics;
+import Main.CarRegist;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Mengukur overhead instrumentasi CarMetrics pada operasi yang paling sering dipanggil.
+  - getClone: baseline CarRegist tanpa instrumentasi (salinan versi lama), metrics mati, metrics hidup.
+  - new Car(base): metrics mati vs hidup (heavyData kecil agar biaya metrics tidak tenggelam).
+ Setiap varian dipanaskan dengan WarmUp, lalu dijalankan bergantian per ronde; yang dilaporkan median
+ ns/op dan selisihnya terhadap baseline/metrics mati. Hasil juga disimpan ke charts/metrics_overhead.csv.
+
+ Contoh: java -p bin:lib -m GSLC_Paper/RunExperiments.MetricsOverhead 15 200000
+   (argumen: jumlah ronde, operasi per ronde; tambahkan -XX:StartFlightRecording untuk event JFR)
+*/
+
+public class MetricsOverhead {
+
+    private static final String KEY = "sedan";
+    private static int sink;
+
+    private interface Variant {
+        void run(int ops);
+    }
+
+    // CarRegist sebelum instrumentasi, sebagai baseline "tanpa metrics sama sekali"
+    private static class PlainRegist {
+        private final Map<String, Car> prototypes = new HashMap<>();
+
+        void addPrototype(String key, Car car) {
+            prototypes.put(key, car);
+        }
+
+        Car getClone(String key) {
+            Car proto = prototypes.get(key);
+            if (proto == null) {
+                throw new IllegalArgumentException("No prototype registered for key: " + key);
+            }
+            return proto.clone();
+        }
+    }
+
+    // Pemanasan lalu ronde bergantian supaya drift (thermal, GC) mengenai semua varian secara merata
+    private static void measure(int[] which, String[] labels, Variant[] variants, boolean[] metrics, int[] sizes,
+                                double[][] nsPerOp, int rounds) {
+        for (int v : which) {
+            Variant variant = variants[v];
+            int n = sizes[v];
+            CarMetrics.setEnabled(metrics[v]);
+            System.out.println(WarmUp.untilSteady(labels[v], () -> variant.run(n)).requireSteady());
+        }
+        for (int r = 0; r < rounds; r++) {
+            for (int v : which) {
+                CarMetrics.setEnabled(metrics[v]);
+                long t0 = System.nanoTime();
+                variants[v].run(sizes[v]);
+                nsPerOp[v][r] = (System.nanoTime() - t0) / (double) sizes[v];
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int ops = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int constructOps = Math.max(1, ops / 20);
+
+        Car.setHeavyDataSize(64);
+        Car base = new Car("Toyota", "Camry", "White", 2025, Arrays.asList("AC", "GPS"));
+        CarRegist registry = new CarRegist();
+        registry.addPrototype(KEY, base);
+
+        PlainRegist plain = new PlainRegist();
+        plain.addPrototype(KEY, base);
+        Variant rawClone = n -> {
+            for (int i = 0; i < n; i++) sink += plain.getClone(KEY).getYear();
+        };
+        Variant registryClone = n -> {
+            for (int i = 0; i < n; i++) sink += registry.getClone(KEY).getYear();
+        };
+        Variant construct = n -> {
+            for (int i = 0; i < n; i++) sink += new Car(base).getYear();
+        };
+
+        String[] labels = { "uninstrumented", "getClone off", "getClone on", "new Car off", "new Car on" };
+        Variant[] variants = { rawClone, registryClone, registryClone, construct, construct };
+        boolean[] metrics = { false, false, true, false, true };
+        int[] sizes = { ops, ops, ops, constructOps, constructOps };
+
+        // Fase 1: metrics belum pernah dinyalakan, jadi JIT mengompilasi getClone/new Car seperti di
+        // produksi dengan metrics mati. Fase 2: metrics dinyalakan (deoptimisasi) dan dibandingkan.
+        double[][] nsPerOp = new double[variants.length][rounds];
+        measure(new int[] { 0, 1, 3 }, labels, variants, metrics, sizes, nsPerOp, rounds);
+        measure(new int[] { 2, 4 }, labels, variants, metrics, sizes, nsPerOp, rounds);
+        CarMetrics.setEnabled(false);
+
+        double[] median = new double[variants.length];
+        for (int v = 0; v < variants.length; v++) median[v] = Stats.median(nsPerOp[v]);
+        int[] reference = { 0, 0, 1, 3, 3 };
+
+        StringBuilder csv = new StringBuilder("Variant,Median_ns_per_op,Reference,Overhead_ns,Overhead_pct,P_value\n");
+        System.out.printf("%-14s %12s %14s %12s%n", "variant", "ns/op", "vs", "overhead");
+        for (int v = 0; v < variants.length; v++) {
+            int ref = reference[v];
+            double delta = median[v] - median[ref];
+            double pct = delta * 100.0 / median[ref];
+            double p = v == ref ? 1.0 : Stats.mannWhitneyP(nsPerOp[ref], nsPerOp[v]);
+            System.out.printf("%-14s %12.1f %14s %+8.1f ns (%+.1f%%, p=%.3f)%n", labels[v], median[v], labels[ref], delta, pct, p);
+            csv.append(String.format(Locale.ROOT, "%s,%.3f,%s,%.3f,%.2f,%.4f%n", labels[v], median[v], labels[ref], delta, pct, p));
+        }
+
+        System.out.println();
+        System.out.println("Metrics recorded while enabled:");
+        System.out.print(CarMetrics.report());
+
+        Path out = Path.of(System.getProperty("user.dir"), "charts", "metrics_overhead.csv");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, csv.toString());
+        System.out.println("Results saved to " + out + " (sink " + (sink & 1) + ")");
+    }
+}
@@ -0,0 +1,192 @@
+package RunExperiments;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Membandingkan hasil di ResultStore antara baseline dan kandidat (commit atau runId).
+  - compare: untuk tiap benchmark hitung perubahan median, interval kepercayaan bootstrap, dan
+    p-value Mann-Whitney; tandai REGRESSION bila signifikan dan lebih lambat dari threshold.
+    Exit code 1 bila ada regresi (bisa dipakai di CI).
+  - trend: chart median per commit (urut waktu) untuk setiap kelompok experiment/heavy/threads.
+
+ Contoh:
+   java -p bin:lib -m GSLC_Paper/RunExperiments.RegressionCheck compare --baseline 195b5f4 --threshold 0.05
+   java -p bin:lib -m GSLC_Paper/RunExperiments.RegressionCheck trend --out charts
+*/
+
+public class RegressionCheck {
+
+    private static final int MIN_SAMPLES = 3;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RegressionCheck compare --baseline <commit|runId> [--candidate <commit|runId>]"
+                    + " [--threshold 0.05] [--alpha 0.05] [--metric time|memory] [--store path]");
+            System.err.println("       RegressionCheck trend [--metric time|memory] [--out charts] [--store path]");
+            System.exit(2);
+        }
+
+        Path storePath = ResultStore.DEFAULT_PATH;
+        String baseline = null;
+        String candidate = null;
+        double threshold = 0.05;
+        double alpha = 0.05;
+        boolean memory = false;
+        Path out = Path.of("charts");
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--store": storePath = Path.of(args[++i]); break;
+                case "--baseline": baseline = args[++i]; break;
+                case "--candidate": candidate = args[++i]; break;
+                case "--threshold": threshold = Double.parseDouble(args[++i]); break;
+                case "--alpha": alpha = Double.parseDouble(args[++i]); break;
+                case "--metric": memory = args[++i].equals("memory"); break;
+                case "--out": out = Path.of(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        List<ResultStore.Entry> entries = ResultStore.load(storePath);
+        if (entries.isEmpty()) {
+            System.err.println("No results in " + storePath + "; run ExperimentRunner first.");
+            System.exit(2);
+        }
+
+        switch (args[0]) {
+            case "compare":
+                if (baseline == null) throw new IllegalArgumentException("--baseline is required");
+                if (candidate == null) candidate = entries.get(entries.size() - 1).commit;
+                int regressions = compare(entries, baseline, candidate, threshold, alpha, memory);
+                if (regressions > 0) System.exit(1);
+                break;
+            case "trend":
+                trend(entries, memory, out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+    }
+
+    static int compare(List<ResultStore.Entry> entries, String baseline, String candidate,
+                       double threshold, double alpha, boolean memory) {
+        Map<String, List<Double>> base = samples(entries, baseline, memory);
+        Map<String, List<Double>> cand = samples(entries, candidate, memory);
+        if (base.isEmpty()) throw new IllegalArgumentException("No results for baseline " + baseline);
+        if (cand.isEmpty()) throw new IllegalArgumentException("No results for candidate " + candidate);
+
+        String unit = memory ? "KB" : "ms";
+        System.out.printf("Baseline %s vs candidate %s (%s, threshold %.1f%%, alpha %.3f)%n",
+                baseline, candidate, memory ? "memory" : "time", threshold * 100, alpha);
+        System.out.printf("%-48s %12s %12s %9s %20s %8s  %s%n",
+                "benchmark", "base " + unit, "cand " + unit, "delta", "95% CI", "p", "status");
+
+        int regressions = 0;
+        for (Map.Entry<String, List<Double>> e : base.entrySet()) {
+            List<Double> c = cand.get(e.getKey());
+            if (c == null) continue;
+            double[] b = toArray(e.getValue());
+            double[] k = toArray(c);
+            double mb = Stats.median(b);
+            double mc = Stats.median(k);
+            double delta = mb == 0 ? 0 : mc / mb - 1;
+
+            String status;
+            String ci = "-";
+            String p = "-";
+            if (b.length < MIN_SAMPLES || k.length < MIN_SAMPLES) {
+                status = "insufficient samples (need " + MIN_SAMPLES + "+ repetitions)";
+            } else {
+                double[] interval = Stats.relativeMedianDeltaCI(b, k, 0.95, 2_000);
+                double pValue = Stats.mannWhitneyP(b, k);
+                ci = String.format("[%+.1f%%, %+.1f%%]", interval[0] * 100, interval[1] * 100);
+                p = String.format("%.4f", pValue);
+                if (pValue < alpha && interval[0] > threshold) {
+                    status = "REGRESSION";
+                    regressions++;
+                } else if (pValue < alpha && interval[1] < -threshold) {
+                    status = "improved";
+                } else {
+                    status = "ok";
+                }
+            }
+            System.out.printf("%-48s %12.3f %12.3f %+8.1f%% %20s %8s  %s%n",
+                    e.getKey(), mb, mc, delta * 100, ci, p, status);
+        }
+        System.out.println(regressions == 0 ? "No regressions." : regressions + " regression(s) detected.");
+        return regressions;
+    }
+
+    static void trend(List<ResultStore.Entry> entries, boolean memory, Path out) {
+        // Urutan commit = urutan kemunculan pertama di store (store hanya di-append)
+        List<String> commits = new ArrayList<>();
+        for (ResultStore.Entry e : entries) if (!commits.contains(e.commit)) commits.add(e.commit);
+
+        // kelompok -> series -> commit index -> samples
+        Map<String, Map<String, Map<Integer, List<Double>>>> groups = new TreeMap<>();
+        for (ResultStore.Entry e : entries) {
+            String group = e.experiment + "_h" + e.heavySize + "_t" + e.threads;
+            String series = e.strategy + " N=" + e.n;
+            groups.computeIfAbsent(group, k -> new LinkedHashMap<>())
+                    .computeIfAbsent(series, k -> new TreeMap<>())
+                    .computeIfAbsent(commits.indexOf(e.commit), k -> new ArrayList<>())
+                    .add(value(e, memory));
+        }
+
+        List<ChartRenderer.Dataset> datasets = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Map<Integer, List<Double>>>> g : groups.entrySet()) {
+            ChartRenderer.Dataset d = new ChartRenderer.Dataset("Trend over commits: " + g.getKey(), "Commit",
+                    memory ? "Median memory (KB)" : "Median time (ms)")
+                    .size(1000, 600)
+                    .markers(true)
+                    .xTickFormatter(x -> {
+                        int i = (int) Math.round(x);
+                        return i >= 0 && i < commits.size() && Math.abs(x - i) < 1e-9 ? commits.get(i) : "";
+                    });
+
+            for (Map.Entry<String, Map<Integer, List<Double>>> s : g.getValue().entrySet()) {
+                double[] x = new double[s.getValue().size()];
+                double[] y = new double[x.length];
+                int i = 0;
+                for (Map.Entry<Integer, List<Double>> point : s.getValue().entrySet()) {
+                    x[i] = point.getKey();
+                    y[i] = Stats.median(toArray(point.getValue()));
+                    i++;
+                }
+                d.series(s.getKey(), x, y);
+            }
+            datasets.add(d);
+            outputs.add(out.resolve("trend_" + g.getKey() + (memory ? "_memory" : "_time")));
+        }
+
+        ChartRenderer.defaults().render(datasets, outputs);
+        System.out.println("Trend charts saved to " + out);
+    }
+
+    // Samples per benchmark for entries whose commit or runId matches (commit prefix allowed)
+    private static Map<String, List<Double>> samples(List<ResultStore.Entry> entries, String selector, boolean memory) {
+        Map<String, List<Double>> m = new TreeMap<>();
+        for (ResultStore.Entry e : entries) {
+            if (!e.runId.equals(selector) && !e.commit.startsWith(selector)) continue;
+            m.computeIfAbsent(e.benchmark(), k -> new ArrayList<>()).add(value(e, memory));
+        }
+        return m;
+    }
+
+    private static double value(ResultStore.Entry e, boolean memory) {
+        return memory ? e.memoryBytes / 1024.0 : e.nanos / 1_000_000.0;
+    }
+
+    private static double[] toArray(List<Double> values) {
+        double[] a = new double[values.size()];
+        for (int i = 0; i < a.length; i++) a[i] = values.get(i);
+        return a;
+    }
+}
@@ -0,0 +1,206 @@
+package RunExperiments;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Penyimpanan hasil benchmark yang hanya di-append (JSON Lines, default `results/store.jsonl`).
+ Setiap titik diberi tag runId, waktu, commit git, versi JVM, dan konfigurasi eksperimen,
+ sehingga RegressionCheck bisa membandingkan commit kandidat terhadap baseline.
+*/
+
+public class ResultStore implements Closeable {
+
+    public static final Path DEFAULT_PATH = Path.of("results", "store.jsonl");
+
+    /** One measured point together with the run it belongs to. */
+    public static class Entry {
+        final String runId;
+        final String timestamp;
+        final String commit;
+        final String jvm;
+        final String config;
+        final String experiment;
+        final int heavySize;
+        final String strategy;
+        final int threads;
+        final int n;
+        final long nanos;
+        final long memoryBytes;
+
+        Entry(String runId, String timestamp, String commit, String jvm, String config, String experiment,
+              int heavySize, String strategy, int threads, int n, long nanos, long memoryBytes) {
+            this.runId = runId;
+            this.timestamp = timestamp;
+            this.commit = commit;
+            this.jvm = jvm;
+            this.config = config;
+            this.experiment = experiment;
+            this.heavySize = heavySize;
+            this.strategy = strategy;
+            this.threads = threads;
+            this.n = n;
+            this.nanos = nanos;
+            this.memoryBytes = memoryBytes;
+        }
+
+        /** Identifies the benchmark (not the run), e.g. {@code secondary/h3000000/t1/constructor/N=50}. */
+        String benchmark() {
+            return experiment + "/h" + heavySize + "/t" + threads + "/" + strategy + "/N=" + n;
+        }
+
+        String toJson() {
+            return "{\"runId\":\"" + esc(runId) + "\",\"timestamp\":\"" + esc(timestamp)
+                    + "\",\"commit\":\"" + esc(commit) + "\",\"jvm\":\"" + esc(jvm)
+                    + "\",\"config\":\"" + esc(config) + "\",\"experiment\":\"" + esc(experiment)
+                    + "\",\"heavySize\":" + heavySize + ",\"strategy\":\"" + esc(strategy)
+                    + "\",\"threads\":" + threads + ",\"n\":" + n
+                    + ",\"nanos\":" + nanos + ",\"memoryBytes\":" + memoryBytes + "}";
+        }
+
+        static Entry fromJson(String line) {
+            Map<String, String> m = parseFlatJson(line);
+            return new Entry(m.get("runId"), m.get("timestamp"), m.get("commit"), m.get("jvm"), m.get("config"),
+                    m.get("experiment"), Integer.parseInt(m.get("heavySize")), m.get("strategy"),
+                    Integer.parseInt(m.get("threads")), Integer.parseInt(m.get("n")),
+                    Long.parseLong(m.get("nanos")), Long.parseLong(m.get("memoryBytes")));
+        }
+    }
+
+    private final BufferedWriter out;
+    private final String runId;
+    private final String timestamp;
+    private final String commit;
+    private final String jvm;
+    private final String config;
+    private final String experiment;
+
+    private ResultStore(Path path, String experiment, String config) throws IOException {
+        Path dir = path.getParent();
+        if (dir != null) Files.createDirectories(dir);
+        this.out = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        Instant now = Instant.now();
+        this.timestamp = now.toString();
+        this.runId = now.toEpochMilli() + "-" + ProcessHandle.current().pid();
+        this.commit = gitCommit();
+        this.jvm = System.getProperty("java.vm.name") + " " + Runtime.version();
+        this.config = config;
+        this.experiment = experiment;
+    }
+
+    /** Opens {@code path} for appending a new run of {@code experiment}. */
+    public static ResultStore openRun(Path path, String experiment, String config) throws IOException {
+        return new ResultStore(path, experiment, config);
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    public String commit() {
+        return commit;
+    }
+
+    public void append(int heavySize, String strategy, int threads, int n, long nanos, long memoryBytes) throws IOException {
+        Entry e = new Entry(runId, timestamp, commit, jvm, config, experiment, heavySize, strategy, threads, n, nanos, memoryBytes);
+        out.write(e.toJson());
+        out.newLine();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    public static List<Entry> load(Path path) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path)) return entries;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            try {
+                entries.add(Entry.fromJson(line));
+            } catch (RuntimeException e) {
+                System.err.println("Skipping unreadable store line: " + line);
+            }
+        }
+        return entries;
+    }
+
+    // Commit saat ini (ditambah "-dirty" bila ada perubahan yang belum di-commit); "unknown" jika git tidak tersedia
+    static String gitCommit() {
+        String head = git("rev-parse", "--short=12", "HEAD");
+        if (head == null) return "unknown";
+        String status = git("status", "--porcelain", "--untracked-files=no");
+        return status != null && !status.isEmpty() ? head + "-dirty" : head;
+    }
+
+    private static String git(String... args) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("git");
+        for (String a : args) cmd.add(a);
+        try {
+            Process p = new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            String text;
+            try (InputStream in = p.getInputStream()) {
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            return p.waitFor() == 0 ? text : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String esc(String s) {
+        return s == null ? "" : s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    // Parser minimal untuk objek JSON datar yang ditulis oleh toJson() (string dan angka saja)
+    static Map<String, String> parseFlatJson(String line) {
+        Map<String, String> m = new HashMap<>();
+        int i = line.indexOf('{') + 1;
+        while (i < line.length()) {
+            int ks = line.indexOf('"', i);
+            if (ks < 0) break;
+            int ke = line.indexOf('"', ks + 1);
+            String key = line.substring(ks + 1, ke);
+            int colon = line.indexOf(':', ke);
+            i = colon + 1;
+            while (line.charAt(i) == ' ') i++;
+            if (line.charAt(i) == '"') {
+                StringBuilder v = new StringBuilder();
+                i++;
+                while (line.charAt(i) != '"') {
+                    char c = line.charAt(i++);
+                    if (c == '\\') c = line.charAt(i++);
+                    v.append(c);
+                }
+                m.put(key, v.toString());
+                i++;
+            } else {
+                int end = i;
+                while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}') end++;
+                m.put(key, line.substring(i, end).trim());
+                i = end;
+            }
+            i++;
+        }
+        return m;
+    }
+}
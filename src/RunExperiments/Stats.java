@@ -0,0 +1,84 @@
+package RunExperiments;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/** Small non-parametric statistics used to compare benchmark samples. */
+public class Stats {
+
+    public static double median(double[] values) {
+        double[] v = values.clone();
+        Arrays.sort(v);
+        int mid = v.length / 2;
+        return v.length % 2 == 1 ? v[mid] : (v[mid - 1] + v[mid]) / 2.0;
+    }
+
+    /**
+     * Two-sided Mann-Whitney U test (normal approximation with tie correction).
+     * Returns the p-value; {@code 1.0} when either sample is empty.
+     */
+    public static double mannWhitneyP(double[] a, double[] b) {
+        int n1 = a.length, n2 = b.length;
+        if (n1 == 0 || n2 == 0) return 1.0;
+        int n = n1 + n2;
+        double[] all = new double[n];
+        System.arraycopy(a, 0, all, 0, n1);
+        System.arraycopy(b, 0, all, n1, n2);
+        Integer[] idx = new Integer[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        Arrays.sort(idx, (x, y) -> Double.compare(all[x], all[y]));
+
+        // Peringkat rata-rata untuk nilai yang sama (ties)
+        double[] rank = new double[n];
+        double tieSum = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[idx[j + 1]] == all[idx[i]]) j++;
+            double r = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) rank[idx[k]] = r;
+            double t = j - i + 1;
+            tieSum += t * t * t - t;
+            i = j + 1;
+        }
+
+        double r1 = 0;
+        for (int i = 0; i < n1; i++) r1 += rank[i];
+        double u = r1 - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double var = n1 * (double) n2 / 12.0 * ((n + 1) - tieSum / ((double) n * (n - 1)));
+        if (var <= 0) return 1.0;
+        double z = (Math.abs(u - mean) - 0.5) / Math.sqrt(var);
+        return Math.min(1.0, 2 * (1 - normalCdf(Math.max(0, z))));
+    }
+
+    /**
+     * Percentile-bootstrap confidence interval of the relative change of medians,
+     * {@code median(candidate) / median(baseline) - 1}. Seeded so reruns give the same interval.
+     */
+    public static double[] relativeMedianDeltaCI(double[] baseline, double[] candidate, double confidence, int resamples) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        double[] deltas = new double[resamples];
+        double[] b = new double[baseline.length];
+        double[] c = new double[candidate.length];
+        for (int r = 0; r < resamples; r++) {
+            for (int i = 0; i < b.length; i++) b[i] = baseline[rnd.nextInt(baseline.length)];
+            for (int i = 0; i < c.length; i++) c[i] = candidate[rnd.nextInt(candidate.length)];
+            double mb = median(b);
+            deltas[r] = mb == 0 ? 0 : median(c) / mb - 1;
+        }
+        Arrays.sort(deltas);
+        double tail = (1 - confidence) / 2;
+        int lo = (int) Math.floor(tail * (resamples - 1));
+        int hi = (int) Math.ceil((1 - tail) * (resamples - 1));
+        return new double[] { deltas[lo], deltas[hi] };
+    }
+
+    // Abramowitz-Stegun 7.1.26 approximation of erf, accurate to ~1e-7
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+}
@@ -0,0 +1,47 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarRegist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** How the N cars of one experiment point are produced. */
+public enum Strategy {
+
+    PROTOTYPE {
+        @Override
+        public Car create(CarRegist registry, String key, Car base) {
+            return registry.getClone(key);
+        }
+    },
+
+    CONSTRUCTOR {
+        @Override
+        public Car create(CarRegist registry, String key, Car base) {
+            return new Car(base);
+        }
+    };
+
+    public abstract Car create(CarRegist registry, String key, Car base);
+
+    /** Creates {@code n} cars, tweaking the color so every object differs. */
+    public List<Car> build(CarRegist registry, String key, Car base, int n) {
+        List<Car> cars = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Car c = create(registry, key, base);
+            c.setColor(c.getColor() + "#" + i);
+            cars.add(c);
+        }
+        return cars;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Strategy parse(String s) {
+        return valueOf(s.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,234 @@
+package RunExperiments;
+
+import Main.Car;
+import Main.CarDelta;
+import Main.CarRegist;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Membandingkan memori dan biaya clone antara katalog "flat" dan varian hierarkis (CarRegist.addVariant).
+ Katalog: prototipe dasar "ev" (sama dengan CloneService), 12 varian warna di bawahnya, lalu N varian
+ (default 10.000) di bawah varian warna dengan tahun dan satu fitur tambahan.
+  - flat new Car : setiap variasi dibuat dengan konstruktor (heavyData sendiri-sendiri), seperti sekarang.
+  - flat clone   : setiap variasi = clone dari base + setter (heavyData dipakai bersama).
+  - variants     : parent key + CarDelta, belum pernah di-clone.
+  - variants 10% / 100% used : setelah 10% / semua varian di-clone sekali (sudah di-flatten dan di-cache).
+ Catatan: dibanding "flat clone", varian yang belum dipakai hampir sama besar, dan setelah semua
+ di-flatten kira-kira dua kali lipat (delta + salinan flat). Penghematan hanya terhadap "flat new Car".
+ Memori = heap terpakai setelah GC dikurangi heap sebelum katalog dibuat. Biaya clone diukur dengan
+ WarmUp lalu ronde bergantian: getClone pada prototipe flat vs varian yang sudah di-flatten.
+ Terakhir dicek invalidasi: mengganti prototipe "ev" harus terlihat di varian cucunya.
+ Hasil: charts/variant_memory.csv.
+
+ Contoh: java -p bin:lib -m GSLC_Paper/RunExperiments.VariantMemory variants=10000 heavy=1000 rounds=15
+*/
+
+public class VariantMemory {
+
+    private static final String[] COLORS = { "White", "Black", "Red", "Blue", "Silver", "Grey",
+            "Green", "Yellow", "Orange", "Brown", "Purple", "Pearl" };
+    private static final String[] EXTRAS = { "Tow hitch", "Roof rack", "Premium audio", "Heat pump",
+            "Winter pack", "Long range", "22in wheels", "Glass roof" };
+    private static int sink;
+    // Katalog yang sedang diukur; disimpan di field supaya jangkauannya tidak bergantung pada JIT
+    private static Object held;
+
+    private interface Catalog {
+        Object build(Car base, int n);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = 10_000;
+        int rounds = 15;
+        int ops = 200_000;
+        Car.setHeavyDataSize(1_000);
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Expected key=value but got: " + a);
+            String v = a.substring(eq + 1);
+            switch (a.substring(0, eq)) {
+                case "variants": n = Integer.parseInt(v.replace("_", "")); break;
+                case "rounds": rounds = Integer.parseInt(v); break;
+                case "ops": ops = Integer.parseInt(v.replace("_", "")); break;
+                case "heavy": Car.setHeavyDataSize(Integer.parseInt(v.replace("_", ""))); break;
+                default: throw new IllegalArgumentException("Unknown option: " + a);
+            }
+        }
+        Car base = CloneService.defaultBases().get("ev");
+        System.out.printf("VariantMemory: %d variants of \"ev\", heavyData %d bytes%n", n, Car.HEAVY_DATA_SIZE);
+
+        String[] labels = { "flat new Car", "flat clone", "variants", "variants 10% used", "variants 100% used" };
+        Catalog[] catalogs = {
+                VariantMemory::flatConstructed,
+                VariantMemory::flatCloned,
+                (b, k) -> variants(b, k, 0),
+                (b, k) -> variants(b, k, k / 10),
+                (b, k) -> variants(b, k, k),
+        };
+        long[] retained = new long[catalogs.length];
+        StringBuilder csv = new StringBuilder("Scenario,Variants,Heavy_bytes,Retained_bytes,Bytes_per_variant\n");
+        System.out.printf("%-20s %14s %14s%n", "scenario", "retained", "per variant");
+        for (int s = 0; s < catalogs.length; s++) {
+            retained[s] = retainedBytes(catalogs[s], base, n);
+            if (retained[s] < 0) {
+                System.out.printf("%-20s %14s%n", labels[s], "OutOfMemoryError");
+                csv.append(String.format(Locale.ROOT, "%s,%d,%d,OOM,%n", labels[s], n, Car.HEAVY_DATA_SIZE));
+                continue;
+            }
+            System.out.printf("%-20s %11.1f KB %11.1f B%n", labels[s], retained[s] / 1024.0, retained[s] / (double) n);
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f%n", labels[s], n, Car.HEAVY_DATA_SIZE, retained[s], retained[s] / (double) n));
+        }
+
+        if (retained[1] > 0) {
+            System.out.printf("vs flat clone: unused variants %.2fx, all variants used %.2fx%n",
+                    retained[2] / (double) retained[1], retained[4] / (double) retained[1]);
+        }
+
+        measureCloneCost(base, n, rounds, ops);
+        checkInvalidation(base);
+
+        Path out = Path.of(System.getProperty("user.dir"), "charts", "variant_memory.csv");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, csv.toString());
+        System.out.println("Results saved to " + out + " (sink " + (sink & 1) + ")");
+    }
+
+    // Variasi ke-i: warna, tahun dan satu fitur tambahan ditentukan dari i
+    private static String color(int i) {
+        return COLORS[i % COLORS.length];
+    }
+
+    private static int year(int i) {
+        return 2020 + i % 7;
+    }
+
+    private static String extra(int i) {
+        return EXTRAS[(i / COLORS.length) % EXTRAS.length];
+    }
+
+    private static CarRegist flatConstructed(Car base, int n) {
+        CarRegist registry = new CarRegist();
+        registry.addPrototype("ev", base);
+        for (int i = 0; i < n; i++) {
+            List<String> features = new ArrayList<>(base.getFeatures());
+            features.add(extra(i));
+            registry.addPrototype("ev-" + i, new Car(base.getMake(), base.getModel(), color(i), year(i), features));
+        }
+        return registry;
+    }
+
+    private static CarRegist flatCloned(Car base, int n) {
+        CarRegist registry = new CarRegist();
+        registry.addPrototype("ev", base);
+        for (int i = 0; i < n; i++) {
+            Car c = base.clone();
+            c.setColor(color(i));
+            c.setYear(year(i));
+            List<String> features = new ArrayList<>(base.getFeatures());
+            features.add(extra(i));
+            c.setFeatures(features);
+            registry.addPrototype("ev-" + i, c);
+        }
+        return registry;
+    }
+
+    // Dua tingkat: ev -> ev/<warna> -> ev-i; 'used' varian pertama langsung di-clone sekali
+    private static CarRegist variants(Car base, int n, int used) {
+        CarRegist registry = new CarRegist();
+        registry.addPrototype("ev", base);
+        String[] colorKeys = new String[COLORS.length];
+        for (int c = 0; c < COLORS.length; c++) {
+            colorKeys[c] = "ev/" + COLORS[c];
+            registry.addVariant(colorKeys[c], "ev", CarDelta.none().withColor(COLORS[c]));
+        }
+        // Setiap varian punya delta sendiri (kasus terburuk; delta yang sama boleh dipakai bersama)
+        for (int i = 0; i < n; i++) {
+            registry.addVariant("ev-" + i, colorKeys[i % COLORS.length], CarDelta.none().withYear(year(i)).plusFeature(extra(i)));
+        }
+        for (int i = 0; i < used; i++) sink += registry.getClone("ev-" + i).getYear();
+        return registry;
+    }
+
+    private static void measureCloneCost(Car base, int n, int rounds, int ops) {
+        CarRegist flat = flatCloned(base, n);
+        CarRegist hier = variants(base, n, 0);
+
+        // Flatten pertama kali: biaya satu kali per varian
+        long t0 = System.nanoTime();
+        for (int i = 0; i < n; i++) sink += hier.getClone("ev-" + i).getYear();
+        double firstUse = (System.nanoTime() - t0) / (double) n;
+
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) keys[i] = "ev-" + (i * 7919 % n);
+        Runnable flatRun = () -> {
+            for (int i = 0; i < ops; i++) sink += flat.getClone(keys[i & 1023]).getYear();
+        };
+        Runnable hierRun = () -> {
+            for (int i = 0; i < ops; i++) sink += hier.getClone(keys[i & 1023]).getYear();
+        };
+        System.out.println(WarmUp.untilSteady("getClone flat", flatRun).requireSteady());
+        System.out.println(WarmUp.untilSteady("getClone variant", hierRun).requireSteady());
+        double[] flatNs = new double[rounds];
+        double[] hierNs = new double[rounds];
+        for (int r = 0; r < rounds; r++) {
+            long a = System.nanoTime();
+            flatRun.run();
+            long b = System.nanoTime();
+            hierRun.run();
+            long c = System.nanoTime();
+            flatNs[r] = (b - a) / (double) ops;
+            hierNs[r] = (c - b) / (double) ops;
+        }
+        System.out.printf("first clone of a variant (flatten): %.1f ns%n", firstUse);
+        System.out.printf("getClone flat    %.1f ns/op%n", Stats.median(flatNs));
+        System.out.printf("getClone variant %.1f ns/op (%+.1f ns, p=%.3f)%n", Stats.median(hierNs),
+                Stats.median(hierNs) - Stats.median(flatNs), Stats.mannWhitneyP(flatNs, hierNs));
+    }
+
+    private static void checkInvalidation(Car base) {
+        CarRegist registry = variants(base, 100, 100);
+        Car before = registry.getClone("ev-5");
+        Car changed = base.clone();
+        changed.setModel(base.getModel() + " Highland");
+        registry.addPrototype("ev", changed);
+        Car after = registry.getClone("ev-5");
+        boolean ok = after.getModel().equals(changed.getModel()) && after.getColor().equals(before.getColor())
+                && after.getYear() == before.getYear() && after.getFeatures().equals(before.getFeatures());
+        System.out.println("invalidation: " + before + " -> " + after + (ok ? " OK" : " STALE"));
+        if (!ok) throw new IllegalStateException("variant was not rebuilt after its parent changed");
+    }
+
+    // Heap terpakai dengan katalog hidup dikurangi heap setelah katalog dilepas; median dari 3 percobaan.
+    // -1 jika katalog tidak muat di heap (mis. flat new Car dengan heavyData 1 MB).
+    private static long retainedBytes(Catalog catalog, Car base, int n) throws InterruptedException {
+        double[] samples = new double[3];
+        for (int i = 0; i < samples.length; i++) {
+            try {
+                held = catalog.build(base, n);
+            } catch (OutOfMemoryError e) {
+                held = null;
+                return -1;
+            }
+            long with = usedAfterGC();
+            held = null;
+            samples[i] = with - usedAfterGC();
+        }
+        return (long) Stats.median(samples);
+    }
+
+    private static long usedAfterGC() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,139 @@
+package RunExperiments;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+/*
+ Ringkasan (Bahasa Indonesia):
+ Pemanasan adaptif: ulangi satu iterasi sampai
+  - minimal MIN_MILLIS waktu dinding sudah lewat (supaya C2 sempat mengompilasi kode panas),
+  - JIT diam: total waktu kompilasi dari CompilationMXBean tidak berubah selama JIT_QUIET_MILLIS
+    waktu dinding (bukan beberapa iterasi; penghitungnya hanya bergerak per milidetik), dan
+  - median WINDOW iterasi terakhir berbeda kurang dari DRIFT dibanding median WINDOW iterasi
+    sebelumnya. Median tahan terhadap lonjakan GC, berbeda dengan CV mentah.
+ Bila batas waktu/iterasi tercapai lebih dulu, hasilnya tidak steady; pemanggil memakai
+ requireSteady() sehingga kegagalan itu terlihat (exception), bukan sekadar baris log.
+*/
+
+public class WarmUp {
+
+    // Default bisa dioverride lewat system property saat menjalankan eksperimen
+    public static final int WINDOW = Integer.getInteger("warmup.window", 20);
+    public static final double DRIFT = Double.parseDouble(System.getProperty("warmup.drift", "0.05"));
+    public static final long MIN_NANOS = Long.getLong("warmup.minMillis", 1_000L) * 1_000_000L;
+    public static final long JIT_QUIET_NANOS = Long.getLong("warmup.jitQuietMillis", 300L) * 1_000_000L;
+    public static final int MAX_ITERATIONS = Integer.getInteger("warmup.maxIterations", 1_000_000);
+    public static final long MAX_NANOS = Long.getLong("warmup.maxMillis", 30_000L) * 1_000_000L;
+
+    /** The settings that decide when warm-up ends, as key=value pairs; the limits are not included. */
+    public static String describe() {
+        return "warmup.window=" + WINDOW + " warmup.drift=" + DRIFT + " warmup.minMillis=" + MIN_NANOS / 1_000_000L
+                + " warmup.jitQuietMillis=" + JIT_QUIET_NANOS / 1_000_000L;
+    }
+
+    public static class Result {
+        final String label;
+        final int iterations;
+        final long wallNanos;
+        final long compileMillis;
+        final double drift;
+        final double spread;
+        final boolean steady;
+
+        Result(String label, int iterations, long wallNanos, long compileMillis, double drift, double spread, boolean steady) {
+            this.label = label;
+            this.iterations = iterations;
+            this.wallNanos = wallNanos;
+            this.compileMillis = compileMillis;
+            this.drift = drift;
+            this.spread = spread;
+            this.steady = steady;
+        }
+
+        public boolean steady() {
+            return steady;
+        }
+
+        /** Returns this result, or throws if warm-up stopped at a limit before reaching steady state. */
+        public Result requireSteady() {
+            if (!steady) {
+                throw new IllegalStateException(this + "; raise warmup.maxMillis/warmup.maxIterations or relax warmup.drift");
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("warm-up %-12s: %d iterations, %.1f ms wall, %d ms JIT, median drift %.3f, MAD/median %.3f%s",
+                    label, iterations, wallNanos / 1_000_000.0, compileMillis, drift, spread,
+                    steady ? "" : " (NOT steady, stopped at limit)");
+        }
+    }
+
+    /**
+     * Runs {@code iteration} for at least {@code warmup.minMillis}, then until the JIT has compiled nothing
+     * for {@code warmup.jitQuietMillis} and the median of the last {@link #WINDOW} iterations is within
+     * {@link #DRIFT} of the median of the window before it. Stops unsteady at the iteration/time limits.
+     */
+    public static Result untilSteady(String label, Runnable iteration) {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean jitTimed = jit != null && jit.isCompilationTimeMonitoringSupported();
+
+        // Dua jendela berturut-turut dalam satu ring buffer: [lama | baru]
+        double[] times = new double[2 * WINDOW];
+        long compileStart = jitTimed ? jit.getTotalCompilationTime() : 0;
+        long lastCompile = compileStart;
+        long start = System.nanoTime();
+        long lastCompileChange = start;
+
+        int i = 0;
+        double drift = Double.NaN;
+        double spread = Double.NaN;
+        boolean steady = false;
+        long now = start;
+        while (i < MAX_ITERATIONS && now - start < MAX_NANOS) {
+            long t0 = System.nanoTime();
+            iteration.run();
+            now = System.nanoTime();
+            times[i % times.length] = now - t0;
+            i++;
+
+            if (jitTimed) {
+                long c = jit.getTotalCompilationTime();
+                if (c != lastCompile) {
+                    lastCompile = c;
+                    lastCompileChange = now;
+                }
+            }
+            if (i < times.length) continue;
+            double[] older = new double[WINDOW];
+            double[] newer = new double[WINDOW];
+            for (int k = 0; k < WINDOW; k++) {
+                older[k] = times[(i + k) % times.length];
+                newer[k] = times[(i + WINDOW + k) % times.length];
+            }
+            double oldMedian = Stats.median(older);
+            double newMedian = Stats.median(newer);
+            drift = oldMedian == 0 ? 0 : Math.abs(newMedian - oldMedian) / oldMedian;
+            spread = madOverMedian(newer, newMedian);
+
+            boolean minDone = now - start >= MIN_NANOS;
+            boolean jitQuiet = now - lastCompileChange >= JIT_QUIET_NANOS;
+            if (minDone && jitQuiet && drift < DRIFT) {
+                steady = true;
+                break;
+            }
+        }
+
+        long compileMillis = jitTimed ? jit.getTotalCompilationTime() - compileStart : -1;
+        return new Result(label, i, System.nanoTime() - start, compileMillis, drift, spread, steady);
+    }
+
+    // Median absolute deviation relatif terhadap median; hanya dilaporkan, tidak dipakai sebagai syarat
+    static double madOverMedian(double[] samples, double median) {
+        if (median == 0) return 0;
+        double[] dev = new double[samples.length];
+        for (int k = 0; k < samples.length; k++) dev[k] = Math.abs(samples[k] - median);
+        return Stats.median(dev) / median;
+    }
+}
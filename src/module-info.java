@@ -6,5 +6,11 @@
  */
 module GSLC_Paper {
 	requires java.desktop; // for Swing (SwingWrapper)
+	requires java.management; // CompilationMXBean for adaptive warm-up
+	requires jdk.management; // per-thread allocated bytes in ModularityLOC
+	requires java.compiler; // in-memory compilation of the generated samples
+	requires jdk.jfr; // SlowCarOperation events from CarMetrics
+	requires jdk.httpserver; // CloneService
+	requires java.net.http; // HttpClient in CloneLoadTest
 	requires org.knowm.xchart; // xchart (jar placed in lib and must be on the module-path)
 }
\ No newline at end of file